@@ -0,0 +1,77 @@
+package com.staff.employee.bench;
+
+import com.staff.employee.StaffGraphServiceApplication;
+import com.staff.employee.dto.EmployeeInput;
+import com.staff.employee.seed.EmployeeGenerator;
+import com.staff.employee.service.EmployeeService;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Boots the service against its own in-memory H2 database, with SQL logging off, and seeds it with
+ * deterministic synthetic employees ({@link EmployeeGenerator}) through the regular service layer (so the indexes and the summary
+ * are maintained as in production).
+ */
+final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+    }
+
+    /**
+     * Starts the application with {@code employees} synthetic rows; {@code properties} are extra
+     * {@code key=value} overrides.
+     */
+    static ConfigurableApplicationContext start(int employees, String... properties) {
+        // Passed as command-line arguments so they override application.properties
+        Map<String, String> defaults = new LinkedHashMap<>();
+        defaults.put("server.port", "0");
+        defaults.put("spring.datasource.url", "jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        defaults.put("spring.jpa.show-sql", "false");
+        defaults.put("spring.graphql.graphiql.enabled", "false");
+        defaults.put("logging.level.root", "WARN");
+        defaults.put("logging.level.com.staff", "WARN");
+        defaults.put("logging.level.org.springframework", "WARN");
+        defaults.put("logging.level.org.springframework.security", "WARN");
+        defaults.put("logging.level.org.springframework.security.web", "WARN");
+        for (String property : properties) {
+            int eq = property.indexOf('=');
+            defaults.put(property.substring(0, eq), property.substring(eq + 1));
+        }
+        String[] args = defaults.entrySet().stream().map(e -> "--" + e.getKey() + "=" + e.getValue()).toArray(String[]::new);
+        ConfigurableApplicationContext context = SpringApplication.run(StaffGraphServiceApplication.class, args);
+        seed(context.getBean(EmployeeService.class), employees);
+        return context;
+    }
+
+    static void seed(EmployeeService service, int employees) {
+        EmployeeGenerator generator = new EmployeeGenerator(42);
+        List<EmployeeInput> chunk = new ArrayList<>();
+        for (int i = 0; i < employees; i++) {
+            chunk.add(generator.nextInput());
+            if (chunk.size() == 5000) {
+                service.createEmployees(chunk);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            service.createEmployees(chunk);
+        }
+    }
+
+    /**
+     * Runs the current thread as an ADMIN, for code behind {@code @PreAuthorize} and the cost budgets.
+     */
+    static void authenticateAsAdmin() {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "bench", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+    }
+}
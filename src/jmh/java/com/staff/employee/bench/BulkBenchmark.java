@@ -0,0 +1,86 @@
+package com.staff.employee.bench;
+
+import com.staff.employee.dto.BulkInsertResult;
+import com.staff.employee.dto.EmployeeInput;
+import com.staff.employee.seed.EmployeeGenerator;
+import com.staff.employee.service.EmployeeExportService;
+import com.staff.employee.service.EmployeeExportService.Format;
+import com.staff.employee.service.EmployeeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk paths: batched inserts through {@code createEmployees}, reported per row, and the streaming export of the
+ * whole seeded table to a discarding stream, reported per export (rows/s = score x employees). Each benchmark
+ * runs in its own fork, so the rows inserted by one never reach the other.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BulkBenchmark {
+
+    private static final int INSERT_ROWS = 1000;
+
+    @Param("20000")
+    public int employees;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeService service;
+    private EmployeeExportService exportService;
+    private List<EmployeeInput> inputs;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = BenchmarkApplication.start(employees);
+        service = context.getBean(EmployeeService.class);
+        exportService = context.getBean(EmployeeExportService.class);
+        EmployeeGenerator generator = new EmployeeGenerator(11);
+        inputs = new ArrayList<>();
+        for (int i = 0; i < INSERT_ROWS; i++) {
+            inputs.add(generator.nextInput());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INSERT_ROWS)
+    public BulkInsertResult insertRows() {
+        return service.createEmployees(inputs);
+    }
+
+    @Benchmark
+    public long exportNdjson() throws IOException {
+        return exportService.export(null, Format.NDJSON, OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public long exportCsv() throws IOException {
+        return exportService.export(null, Format.CSV, OutputStream.nullOutputStream());
+    }
+}
@@ -0,0 +1,108 @@
+package com.staff.employee.bench;
+
+import com.staff.employee.columnar.ColumnarEmployeeStore;
+import com.staff.employee.dto.EmployeeFilter;
+import com.staff.employee.event.EmployeeChangedEvent;
+import com.staff.employee.event.EmployeeChangedEvent.ChangeType;
+import com.staff.employee.index.SkillIndex;
+import com.staff.employee.model.Employee;
+import com.staff.employee.model.EmployeeSnapshot;
+import com.staff.employee.repository.EmployeeRepositoryCustom;
+import com.staff.employee.seed.EmployeeGenerator;
+import com.staff.employee.service.EmployeeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Sort;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * {@link ColumnarEmployeeStore} on its own, at sizes the in-memory H2 of the other benchmarks cannot hold:
+ * filtered pages with totals, a dictionary-decided nameContains, top-k pages sorted on a dictionary column,
+ * deep offsets, and the incremental update a mutation applies. Sequential scans against one thread per core.
+ * Skill filters need the skill index and are covered by {@link ColumnarServiceBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class ColumnarBenchmark {
+
+    private static final EmployeeFilter DEPARTMENT_AND_AGE = EmployeeFilter.builder().department("IT").minAge(30).maxAge(40).build();
+    private static final EmployeeFilter NAME = EmployeeFilter.builder().nameContains("ana").build();
+    private static final Sort BY_ID = EmployeeService.parseSort(null);
+    private static final Sort BY_AGE_DESC_AND_NAME = EmployeeService.parseSort("-age,name");
+    private static final Sort BY_NAME = EmployeeService.parseSort("name");
+
+    @Param({"1000000", "10000000"})
+    public int employees;
+
+    // 1: scans stay on the calling thread; 0: one thread per core
+    @Param({"1", "0"})
+    public int parallelism;
+
+    private ColumnarEmployeeStore store;
+    private EmployeeSnapshot updated;
+    private int age;
+
+    @Setup(Level.Trial)
+    public void start() {
+        store = new ColumnarEmployeeStore(null, new SkillIndex(null, false), true, parallelism, 100_000);
+        EmployeeGenerator generator = new EmployeeGenerator(42);
+        store.load(() -> LongStream.rangeClosed(1, employees).mapToObj(id -> snapshot(id, generator.next())).iterator());
+        updated = snapshot(employees / 2, generator.next());
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        store.stop();
+    }
+
+    private static EmployeeSnapshot snapshot(long id, Employee e) {
+        return new EmployeeSnapshot(id, e.getName(), e.getAge(), e.getDepartment(), e.getAttendance(), 0L, null);
+    }
+
+    @Benchmark
+    public ColumnarEmployeeStore.Range departmentAndAgeSorted() {
+        return store.findRange(DEPARTMENT_AND_AGE, BY_AGE_DESC_AND_NAME, 0, 21, EmployeeRepositoryCustom.COLUMNS);
+    }
+
+    @Benchmark
+    public ColumnarEmployeeStore.Range nameContains() {
+        return store.findRange(NAME, BY_ID, 0, 21, EmployeeRepositoryCustom.COLUMNS);
+    }
+
+    // Every employee is a match and a heap candidate
+    @Benchmark
+    public ColumnarEmployeeStore.Range unfilteredByName() {
+        return store.findRange(null, BY_NAME, 0, 21, EmployeeRepositoryCustom.COLUMNS);
+    }
+
+    // Page 500 of 20: the heap holds 10 021 rows
+    @Benchmark
+    public ColumnarEmployeeStore.Range deepPage() {
+        return store.findRange(null, BY_ID, 500 * 20, 21, EmployeeRepositoryCustom.COLUMNS);
+    }
+
+    @Benchmark
+    public void update() {
+        age = age == 40 ? 41 : 40;
+        EmployeeSnapshot next = new EmployeeSnapshot(updated.id(), updated.name(), age, updated.department(),
+                updated.attendance(), updated.version(), null);
+        store.onEmployeeChanged(new EmployeeChangedEvent(ChangeType.UPDATED, next.id(), updated, next));
+    }
+}
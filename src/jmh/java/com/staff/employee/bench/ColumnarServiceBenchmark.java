@@ -0,0 +1,80 @@
+package com.staff.employee.bench;
+
+import com.staff.employee.dto.EmployeeFilter;
+import com.staff.employee.dto.EmployeePage;
+import com.staff.employee.dto.TotalsMode;
+import com.staff.employee.service.EmployeeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * listEmployees through SQL against the columnar snapshot, on the same seeded H2. That both return the same
+ * pages is checked by ColumnarEmployeeStoreEquivalenceTest.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ColumnarServiceBenchmark {
+
+    private static final EmployeeFilter DEPARTMENT_AND_AGE = EmployeeFilter.builder().department("IT").minAge(30).maxAge(40).build();
+    private static final EmployeeFilter NAME = EmployeeFilter.builder().nameContains("ana").build();
+    private static final EmployeeFilter SKILLS_ANY = EmployeeFilter.builder().skillsAny(List.of("Rust", "Go")).build();
+
+    @Param("20000")
+    public int employees;
+
+    @Param({"true", "false"})
+    public boolean columnar;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeService service;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = BenchmarkApplication.start(employees, "app.query.columnar.enabled=" + columnar);
+        service = context.getBean(EmployeeService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public EmployeePage departmentAndAgeWithCount() {
+        return service.listEmployees(DEPARTMENT_AND_AGE, 0, 20, "-age,name", TotalsMode.EXACT, null);
+    }
+
+    @Benchmark
+    public EmployeePage nameContains() {
+        return service.listEmployees(NAME, 0, 20, null, TotalsMode.NONE, null);
+    }
+
+    @Benchmark
+    public EmployeePage skillsAnyWithCount() {
+        return service.listEmployees(SKILLS_ANY, 0, 20, "name", TotalsMode.EXACT, null);
+    }
+
+    @Benchmark
+    public EmployeePage deepPageSortedByAttendance() {
+        return service.listEmployees(null, 500, 20, "-attendance", TotalsMode.NONE, null);
+    }
+}
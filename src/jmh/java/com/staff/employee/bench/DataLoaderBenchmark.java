@@ -0,0 +1,76 @@
+package com.staff.employee.bench;
+
+import com.staff.employee.dataloader.EmployeeDataLoader;
+import com.staff.employee.dataloader.SkillsDataLoader;
+import com.staff.employee.model.Employee;
+import graphql.GraphQLContext;
+import org.dataloader.DataLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * One request's worth of DataLoader work: a fresh loader (as DataLoaderWebInterceptor creates per request),
+ * {@code batch} loads, one dispatch, and waiting for the batch executor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DataLoaderBenchmark {
+
+    @Param("20000")
+    public int employees;
+
+    @Param({"10", "100", "500"})
+    public int batch;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeDataLoader employeeDataLoader;
+    private SkillsDataLoader skillsDataLoader;
+    private List<Long> ids;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = BenchmarkApplication.start(employees);
+        employeeDataLoader = context.getBean(EmployeeDataLoader.class);
+        skillsDataLoader = context.getBean(SkillsDataLoader.class);
+        Random random = new Random(7);
+        ids = random.longs(batch, 1, employees).boxed().collect(Collectors.toList());
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Employee> employees() {
+        DataLoader<Long, Employee> loader = employeeDataLoader.getDataLoader(GraphQLContext.newContext().build());
+        return loader.loadMany(ids).thenCombine(loader.dispatch(), (result, dispatched) -> result).join();
+    }
+
+    @Benchmark
+    public List<List<String>> skills() {
+        DataLoader<Long, List<String>> loader = skillsDataLoader.getDataLoader(GraphQLContext.newContext().build());
+        return loader.loadMany(ids).thenCombine(loader.dispatch(), (result, dispatched) -> result).join();
+    }
+}
@@ -0,0 +1,136 @@
+package com.staff.employee.bench;
+
+import com.staff.employee.dto.EmployeeConnection;
+import com.staff.employee.dto.EmployeeCursor;
+import com.staff.employee.dto.EmployeeFilter;
+import com.staff.employee.dto.EmployeePage;
+import com.staff.employee.dto.TotalsMode;
+import com.staff.employee.model.Employee;
+import com.staff.employee.service.EmployeeService;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link EmployeeService} read paths against seeded H2: paging (offset vs keyset at the same depth), sort
+ * parsing, filter specs with and without the in-memory name/skill indexes (trigram vs LIKE, bitmaps vs EXISTS).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeServiceBenchmark {
+
+    private static final EmployeeFilter DEPARTMENT_AND_AGE = EmployeeFilter.builder().department("IT").minAge(30).maxAge(40).build();
+    private static final EmployeeFilter NAME = EmployeeFilter.builder().nameContains("ana").build();
+    private static final EmployeeFilter SKILLS_ANY = EmployeeFilter.builder().skillsAny(List.of("Rust", "Go")).build();
+    private static final EmployeeFilter SKILLS_ALL = EmployeeFilter.builder().skillsAll(List.of("Java", "SQL")).build();
+
+    @Param("20000")
+    public int employees;
+
+    // false: every filter goes to SQL (LIKE, EXISTS subqueries)
+    @Param({"true", "false"})
+    public boolean indexes;
+
+    @Param("500")
+    public int deepPage;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeService service;
+    private CriteriaBuilder criteriaBuilder;
+    private String deepCursor;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = BenchmarkApplication.start(employees,
+                "app.index.names.enabled=" + indexes, "app.index.skills.enabled=" + indexes);
+        service = context.getBean(EmployeeService.class);
+        criteriaBuilder = context.getBean(EntityManagerFactory.class).getCriteriaBuilder();
+        if ((long) deepPage * 20 >= employees) {
+            throw new IllegalArgumentException("deepPage " + deepPage + " is past the last page of " + employees + " employees");
+        }
+        // Cursor positioned where the offset query for deepPage starts
+        List<Employee> before = service.listEmployees(null, deepPage - 1, 20, "id", TotalsMode.NONE, List.of("id")).content();
+        Employee last = before.get(before.size() - 1);
+        deepCursor = new EmployeeCursor("id", last.getId().toString(), last.getId()).encode();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public EmployeePage firstPage() {
+        return service.listEmployees(null, 0, 20, null, TotalsMode.NONE, null);
+    }
+
+    @Benchmark
+    public EmployeePage firstPageWithCount() {
+        return service.listEmployees(DEPARTMENT_AND_AGE, 0, 20, "-age,name", TotalsMode.EXACT, null);
+    }
+
+    @Benchmark
+    public EmployeePage deepPageOffset() {
+        return service.listEmployees(null, deepPage, 20, "id", TotalsMode.NONE, null);
+    }
+
+    @Benchmark
+    public EmployeeConnection deepPageKeyset() {
+        return service.employeesConnection(null, 20, deepCursor, "id");
+    }
+
+    @Benchmark
+    public EmployeePage nameContains() {
+        return service.listEmployees(NAME, 0, 20, null, TotalsMode.NONE, null);
+    }
+
+    @Benchmark
+    public EmployeePage skillsAny() {
+        return service.listEmployees(SKILLS_ANY, 0, 20, null, TotalsMode.NONE, null);
+    }
+
+    @Benchmark
+    public EmployeePage skillsAll() {
+        return service.listEmployees(SKILLS_ALL, 0, 20, null, TotalsMode.NONE, null);
+    }
+
+    @Benchmark
+    public Sort parseSort() {
+        return EmployeeService.parseSort("-age,name,department");
+    }
+
+    // Index lookups plus Criteria predicate construction, without running the query
+    @Benchmark
+    public Predicate buildSpec() {
+        Specification<Employee> spec = service.buildSpec(EmployeeFilter.builder()
+                .nameContains("ana").skillsAny(List.of("Rust", "Go")).department("IT").minAge(30).build());
+        CriteriaQuery<Employee> query = criteriaBuilder.createQuery(Employee.class);
+        Root<Employee> root = query.from(Employee.class);
+        return spec.toPredicate(root, query, criteriaBuilder);
+    }
+}
@@ -0,0 +1,130 @@
+package com.staff.employee.bench;
+
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.graphql.server.WebGraphQlHandler;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.LinkedMultiValueMap;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Full GraphQL execution of representative operations through {@link WebGraphQlHandler}, i.e. everything
+ * behind the HTTP layer: interceptors, document cache, cost analysis, instrumentation, resolvers, DataLoaders
+ * and JPA on seeded H2. Runs as ADMIN.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GraphQlBenchmark {
+
+    static final String PAGE = "query Page { listEmployees(size: 20) { content { id name age department skills attendance } hasNext } }";
+    static final String CONNECTION = "query Connection { employeesConnection(first: 50, filter: {department: \"IT\"}, sort: \"-age\") "
+            + "{ edges { cursor node { id name age skills } } pageInfo { hasNextPage endCursor } } }";
+    static final String BY_IDS = "query ByIds { employees(ids: [1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20]) "
+            + "{ id name skills } }";
+    static final String DASHBOARD = "query Dashboard { departmentStats { department headcount averageAge } "
+            + "skillStats { skill headcount } ageHistogram(bucketSize: 5) { from to count } }";
+
+    @Param("20000")
+    public int employees;
+
+    private ConfigurableApplicationContext context;
+    private WebGraphQlHandler handler;
+    private String pageHash;
+    private final AtomicLong requestIds = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = BenchmarkApplication.start(employees);
+        handler = context.getBean(WebGraphQlHandler.class);
+        pageHash = sha256(PAGE);
+        // Register the persisted query, as a client does after its first PersistedQueryNotFound
+        BenchmarkApplication.authenticateAsAdmin();
+        execute(Map.of("query", PAGE, "extensions", persistedQuery(pageHash)));
+    }
+
+    @Setup(Level.Iteration)
+    public void authenticate() {
+        BenchmarkApplication.authenticateAsAdmin();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public WebGraphQlResponse page() {
+        return execute(Map.of("query", PAGE));
+    }
+
+    // Same operation sent as a hash only: smaller request, no parse or validation
+    @Benchmark
+    public WebGraphQlResponse pagePersisted() {
+        return execute(Map.of("query", PersistedQuerySupport.PERSISTED_QUERY_MARKER, "extensions", persistedQuery(pageHash)));
+    }
+
+    @Benchmark
+    public WebGraphQlResponse connection() {
+        return execute(Map.of("query", CONNECTION));
+    }
+
+    @Benchmark
+    public WebGraphQlResponse byIdsWithSkills() {
+        return execute(Map.of("query", BY_IDS));
+    }
+
+    @Benchmark
+    public WebGraphQlResponse dashboard() {
+        return execute(Map.of("query", DASHBOARD));
+    }
+
+    private WebGraphQlResponse execute(Map<String, Object> body) {
+        WebGraphQlRequest request = new WebGraphQlRequest(URI.create("http://localhost/graphql"), new HttpHeaders(),
+                new LinkedMultiValueMap<>(), Map.of(), body, Long.toString(requestIds.incrementAndGet()), Locale.ENGLISH);
+        WebGraphQlResponse response = handler.handleRequest(request).block();
+        if (response == null || !response.getErrors().isEmpty()) {
+            throw new IllegalStateException("GraphQL request failed: " + (response == null ? null : response.getErrors()));
+        }
+        return response;
+    }
+
+    private static Map<String, Object> persistedQuery(String hash) {
+        return Map.of("persistedQuery", Map.of("version", 1, "sha256Hash", hash));
+    }
+
+    private static String sha256(String text) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package com.staff.employee.bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.staff.employee.seed.EmployeeGenerator;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop HTTP load test for a running service (for realistic volume start it with the {@code seed} profile).
+ * Logs in through {@code /auth/login}, then sends a weighted mix of GraphQL operations at a fixed arrival rate
+ * regardless of how fast responses come back. Latency is measured from each request's scheduled start, so
+ * queueing in the server (or in the client, once {@code max-in-flight} is reached) shows up in the tail instead
+ * of silently lowering the rate. Writes a JSON summary plus an HdrHistogram percentile file, and compares two
+ * summaries:
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec@loadtest -Dloadtest.args="--rate=500 --duration=60 --label=main"
+ * mvn -Pjmh test-compile exec:exec@loadtest -Dloadtest.args="compare target/loadtest/a.json target/loadtest/b.json"
+ * </pre>
+ * Options (all {@code --name=value}): url, username, password, rate (requests/s), duration and warmup
+ * (seconds), max-in-flight, mix (e.g. {@code list=70,get=25,mutation=5}), label, results (file path), seed.
+ */
+public final class LoadTest {
+
+    private static final ObjectMapper JSON = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final long MAX_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private static final String LIST = "query List($page: Int, $filter: EmployeeFilter) { listEmployees(page: $page, size: 20, "
+            + "filter: $filter) { content { id name department skills } hasNext } }";
+    private static final String GET = "query Get($id: ID!) { employee(id: $id) { id name age department skills attendance } }";
+    private static final String ADD = "mutation Add($input: EmployeeInput!) { addEmployee(input: $input) { id } }";
+    private static final String[] DEPARTMENTS = {"IT", "Sales", "Support", "Operations", "Finance", "Marketing"};
+
+    private final Map<String, String> options;
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final Random random;
+    private final EmployeeGenerator generator;
+    private final URI graphql;
+    private String token;
+    private long maxId;
+
+    private LoadTest(Map<String, String> options) {
+        this.options = options;
+        long seed = Long.parseLong(option("seed", "7"));
+        this.random = new Random(seed);
+        this.generator = new EmployeeGenerator(seed);
+        this.graphql = URI.create(option("url", "http://localhost:8080") + "/graphql");
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 3 && args[0].equals("compare")) {
+            compare(Path.of(args[1]), Path.of(args[2]), System.out);
+            return;
+        }
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        new LoadTest(options).run();
+    }
+
+    private void run() throws Exception {
+        double rate = Double.parseDouble(option("rate", "200"));
+        long durationNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(option("duration", "60")));
+        long warmupNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(option("warmup", "10")));
+        int maxInFlight = Integer.parseInt(option("max-in-flight", "512"));
+        Map<String, Integer> mix = parseMix(option("mix", "list=70,get=25,mutation=5"));
+        int totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+
+        login();
+        maxId = findMaxId();
+        System.out.printf("Target %.0f req/s for %ds after %ds warmup, mix %s, ids up to %d%n",
+                rate, TimeUnit.NANOSECONDS.toSeconds(durationNanos), TimeUnit.NANOSECONDS.toSeconds(warmupNanos), mix, maxId);
+
+        Map<String, Recorder> recorders = new LinkedHashMap<>();
+        Map<String, AtomicLong> errors = new LinkedHashMap<>();
+        mix.keySet().forEach(op -> {
+            recorders.put(op, new Recorder(MAX_LATENCY_NANOS, 3));
+            errors.put(op, new AtomicLong());
+        });
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        long intervalNanos = (long) (1_000_000_000L / rate);
+        long start = System.nanoTime();
+        long measureFrom = start + warmupNanos;
+        long end = measureFrom + durationNanos;
+
+        long dropped = 0;
+        for (long n = 0; ; n++) {
+            long intended = start + n * intervalNanos;
+            if (intended >= end) break;
+            long wait = intended - System.nanoTime();
+            if (wait > 0) LockSupport.parkNanos(wait);
+            // At max-in-flight the schedule falls behind; requests still unsent when the run ends are dropped
+            if (!inFlight.tryAcquire(Math.max(0, end - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                dropped = (end - intended) / intervalNanos;
+                break;
+            }
+            String op = pick(mix, totalWeight);
+            boolean measured = intended >= measureFrom;
+            client.sendAsync(request(op), HttpResponse.BodyHandlers.ofString()).whenComplete((response, failure) -> {
+                long latency = System.nanoTime() - intended;
+                inFlight.release();
+                if (!measured) return;
+                recorders.get(op).recordValue(Math.min(latency, MAX_LATENCY_NANOS));
+                if (failure != null || response.statusCode() != 200 || response.body().contains("\"errors\"")) {
+                    errors.get(op).incrementAndGet();
+                }
+            });
+        }
+        // Let the last requests finish
+        inFlight.tryAcquire(maxInFlight, 30, TimeUnit.SECONDS);
+        double seconds = durationNanos / 1e9;
+
+        Histogram all = new Histogram(MAX_LATENCY_NANOS, 3);
+        Map<String, Object> operations = new LinkedHashMap<>();
+        long totalErrors = 0;
+        for (var entry : recorders.entrySet()) {
+            Histogram h = entry.getValue().getIntervalHistogram();
+            all.add(h);
+            long opErrors = errors.get(entry.getKey()).get();
+            totalErrors += opErrors;
+            operations.put(entry.getKey(), summary(h, opErrors, seconds));
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("label", option("label", ""));
+        result.put("timestamp", LocalDateTime.now().toString());
+        result.put("url", graphql.toString());
+        result.put("targetRate", rate);
+        result.put("durationSeconds", TimeUnit.NANOSECONDS.toSeconds(durationNanos));
+        result.put("maxInFlight", maxInFlight);
+        result.put("mix", mix);
+        result.put("dropped", dropped);
+        result.put("all", summary(all, totalErrors, seconds));
+        result.put("operations", operations);
+
+        Path file = Path.of(option("results", "target/loadtest/results-"
+                + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json"));
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        JSON.writeValue(file.toFile(), result);
+        try (PrintStream out = new PrintStream(Files.newOutputStream(Path.of(file.toString().replaceAll("\\.json$", "") + ".hgrm")))) {
+            all.outputPercentileDistribution(out, 1_000_000.0);
+        }
+        System.out.println(JSON.writeValueAsString(result.get("all")));
+        if (dropped > 0) {
+            System.out.printf("Warning: %d requests were never sent, the service did not keep up with %.0f req/s%n", dropped, rate);
+        }
+        System.out.println("Results written to " + file);
+    }
+
+    private static Map<String, Object> summary(Histogram h, long errors, double seconds) {
+        Map<String, Object> s = new LinkedHashMap<>();
+        s.put("requests", h.getTotalCount());
+        s.put("errors", errors);
+        s.put("throughput", Math.round(h.getTotalCount() / seconds * 10) / 10.0);
+        s.put("meanMs", millis(h.getMean()));
+        s.put("p50Ms", millis(h.getValueAtPercentile(50)));
+        s.put("p90Ms", millis(h.getValueAtPercentile(90)));
+        s.put("p99Ms", millis(h.getValueAtPercentile(99)));
+        s.put("p999Ms", millis(h.getValueAtPercentile(99.9)));
+        s.put("maxMs", millis(h.getMaxValue()));
+        return s;
+    }
+
+    private static double millis(double nanos) {
+        return Math.round(nanos / 1_000) / 1_000.0;
+    }
+
+    private HttpRequest request(String op) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        Map<String, Object> variables = new LinkedHashMap<>();
+        switch (op) {
+            case "list" -> {
+                body.put("query", LIST);
+                variables.put("page", random.nextInt(50));
+                if (random.nextBoolean()) {
+                    variables.put("filter", Map.of("department", DEPARTMENTS[random.nextInt(DEPARTMENTS.length)]));
+                }
+            }
+            case "get" -> {
+                body.put("query", GET);
+                variables.put("id", 1 + (long) (random.nextDouble() * maxId));
+            }
+            case "mutation" -> {
+                body.put("query", ADD);
+                variables.put("input", generator.nextInput());
+            }
+            default -> throw new IllegalArgumentException("Unknown operation in mix: " + op);
+        }
+        body.put("variables", variables);
+        return post(graphql, body).header("Authorization", "Bearer " + token).build();
+    }
+
+    private void login() throws IOException, InterruptedException {
+        URI uri = URI.create(option("url", "http://localhost:8080") + "/auth/login");
+        HttpResponse<String> response = client.send(post(uri, Map.of(
+                "username", option("username", "admin"), "password", option("password", "adminpass"))).build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login failed with HTTP " + response.statusCode() + ": " + response.body());
+        }
+        token = JSON.readTree(response.body()).path("token").asText();
+    }
+
+    private long findMaxId() throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(post(graphql, Map.of("query",
+                "{ listEmployees(size: 1, sort: \"-id\") { content { id } } }"))
+                .header("Authorization", "Bearer " + token).build(), HttpResponse.BodyHandlers.ofString());
+        JsonNode content = JSON.readTree(response.body()).path("data").path("listEmployees").path("content");
+        if (content.isEmpty()) {
+            throw new IllegalStateException("No employees to load-test against: " + response.body());
+        }
+        return content.get(0).path("id").asLong();
+    }
+
+    private static HttpRequest.Builder post(URI uri, Object body) {
+        try {
+            return HttpRequest.newBuilder(uri)
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(JSON.writeValueAsString(body)));
+        } catch (IOException ex) {
+            throw new IllegalArgumentException(ex);
+        }
+    }
+
+    private String pick(Map<String, Integer> mix, int totalWeight) {
+        int pick = random.nextInt(totalWeight);
+        for (var entry : mix.entrySet()) {
+            pick -= entry.getValue();
+            if (pick < 0) return entry.getKey();
+        }
+        throw new IllegalStateException();
+    }
+
+    private static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String part : mix.split(",")) {
+            String[] kv = part.trim().split("=");
+            weights.put(kv[0], Integer.parseInt(kv[1]));
+        }
+        return weights;
+    }
+
+    private String option(String name, String defaultValue) {
+        return options.getOrDefault(name, defaultValue);
+    }
+
+    /**
+     * Prints throughput and latency percentiles of two result files side by side, with the relative change.
+     */
+    static void compare(Path base, Path candidate, PrintStream out) throws IOException {
+        JsonNode a = JSON.readTree(base.toFile());
+        JsonNode b = JSON.readTree(candidate.toFile());
+        out.printf("%-10s %-10s %12s %12s %8s%n", "operation", "metric", a.path("label").asText("base"),
+                b.path("label").asText("candidate"), "change");
+        Map<String, JsonNode[]> rows = new LinkedHashMap<>();
+        rows.put("all", new JsonNode[] {a.path("all"), b.path("all")});
+        a.path("operations").fieldNames().forEachRemaining(op ->
+                rows.put(op, new JsonNode[] {a.path("operations").path(op), b.path("operations").path(op)}));
+        for (var row : rows.entrySet()) {
+            for (String metric : new String[] {"throughput", "errors", "p50Ms", "p90Ms", "p99Ms", "p999Ms", "maxMs"}) {
+                double x = row.getValue()[0].path(metric).asDouble();
+                double y = row.getValue()[1].path(metric).asDouble();
+                String change = x == 0 ? "" : String.format("%+.1f%%", (y - x) / x * 100);
+                out.printf("%-10s %-10s %12.3f %12.3f %8s%n", row.getKey(), metric, x, y, change);
+            }
+        }
+    }
+}
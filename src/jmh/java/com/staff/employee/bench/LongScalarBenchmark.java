@@ -0,0 +1,70 @@
+package com.staff.employee.bench;
+
+import com.staff.employee.config.GraphQLConfig;
+import graphql.language.IntValue;
+import graphql.language.StringValue;
+import graphql.schema.Coercing;
+import graphql.schema.idl.RuntimeWiring;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coercing of the custom {@code Long} scalar registered by {@link GraphQLConfig}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LongScalarBenchmark {
+
+    private Coercing<?, ?> coercing;
+    private final Object number = 1_234_567_890_123L;
+    private final Object text = "1234567890123";
+    private final IntValue intLiteral = IntValue.newIntValue(BigInteger.valueOf(1_234_567_890_123L)).build();
+    private final StringValue stringLiteral = StringValue.newStringValue("1234567890123").build();
+
+    @Setup
+    @SuppressWarnings("deprecation")
+    public void setUp() {
+        RuntimeWiring.Builder wiring = RuntimeWiring.newRuntimeWiring();
+        new GraphQLConfig().runtimeWiringConfigurer().configure(wiring);
+        coercing = wiring.build().getScalars().get("Long").getCoercing();
+    }
+
+    @Benchmark
+    @SuppressWarnings("deprecation")
+    public Object serialize() {
+        return coercing.serialize(number);
+    }
+
+    @Benchmark
+    @SuppressWarnings("deprecation")
+    public Object parseValueFromString() {
+        return coercing.parseValue(text);
+    }
+
+    @Benchmark
+    @SuppressWarnings("deprecation")
+    public Object parseIntLiteral() {
+        return coercing.parseLiteral(intLiteral);
+    }
+
+    @Benchmark
+    @SuppressWarnings("deprecation")
+    public Object parseStringLiteral() {
+        return coercing.parseLiteral(stringLiteral);
+    }
+}
@@ -0,0 +1,76 @@
+package com.staff.employee.bench;
+
+import com.staff.employee.dto.EmployeeInput;
+import com.staff.employee.dto.EmployeePatch;
+import com.staff.employee.model.Employee;
+import com.staff.employee.seed.EmployeeGenerator;
+import com.staff.employee.service.EmployeeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-employee mutations: the full {@code updateEmployee} (load, dirty-check, rewrite the skills) against
+ * {@code patchEmployee} (one targeted UPDATE) and the bulk-statement delete. The statements each one issues are
+ * pinned by MutationStatementCountTest.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MutationBenchmark {
+
+    @Param("20000")
+    public int employees;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeService service;
+    private EmployeeInput input;
+    private long id;
+    private int age;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = BenchmarkApplication.start(employees);
+        service = context.getBean(EmployeeService.class);
+        EmployeeGenerator generator = new EmployeeGenerator(5);
+        input = generator.nextInput();
+        id = service.createEmployee(generator.nextInput()).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public Employee updateEmployee() {
+        return service.updateEmployee(id, input);
+    }
+
+    @Benchmark
+    public Employee patchEmployee() {
+        age = age == 40 ? 41 : 40;
+        return service.patchEmployee(id, EmployeePatch.builder().age(age).build());
+    }
+
+    @Benchmark
+    public boolean deleteMissingEmployee() {
+        return service.deleteEmployee(-1L);
+    }
+}
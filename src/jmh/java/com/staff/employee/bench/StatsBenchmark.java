@@ -0,0 +1,70 @@
+package com.staff.employee.bench;
+
+import com.staff.employee.dto.DepartmentStats;
+import com.staff.employee.dto.HistogramBucket;
+import com.staff.employee.dto.SkillStats;
+import com.staff.employee.service.EmployeeStatsService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unfiltered aggregates from the in-memory WorkforceSummary ({@code summary=true}) versus grouped SQL.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StatsBenchmark {
+
+    @Param("20000")
+    public int employees;
+
+    @Param({"true", "false"})
+    public boolean summary;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeStatsService stats;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = BenchmarkApplication.start(employees, "app.stats.summary.enabled=" + summary);
+        stats = context.getBean(EmployeeStatsService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<DepartmentStats> departmentStats() {
+        return stats.departmentStats(null);
+    }
+
+    @Benchmark
+    public List<SkillStats> skillStats() {
+        return stats.skillStats(null);
+    }
+
+    @Benchmark
+    public List<HistogramBucket> ageHistogram() {
+        return stats.ageHistogram(null, 5);
+    }
+}
@@ -0,0 +1,32 @@
+package com.staff.employee.cache;
+
+import com.staff.employee.event.EmployeeChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Global version of the employee data set, bumped after every committed mutation. Anything derived from
+ * more than one employee (pages, totals) is valid exactly as long as the version it was computed at.
+ */
+@Component
+public class DataVersion {
+
+    // Distinguishes versions of this process from those handed out before a restart
+    private final String epoch = Long.toHexString(System.currentTimeMillis());
+    private final AtomicLong version = new AtomicLong();
+
+    public long current() {
+        return version.get();
+    }
+
+    public String epoch() {
+        return epoch;
+    }
+
+    @TransactionalEventListener
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        version.incrementAndGet();
+    }
+}
@@ -0,0 +1,139 @@
+package com.staff.employee.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.staff.employee.config.ConsistentReads;
+import com.staff.employee.event.EmployeeChangedEvent;
+import com.staff.employee.model.Employee;
+import com.staff.employee.model.EmployeeSnapshot;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Read-through cache of employee snapshots by id, in front of the repository. Entries are evicted by size and
+ * age, and invalidated precisely once a mutation of that employee commits. Entries loaded for
+ * {@link #getWithSkills} carry the skills too; the same event invalidates them, since skills only change with
+ * a mutation of their employee.
+ */
+@Component
+@Slf4j
+public class EmployeeCache {
+
+    // Invalidation counters, shared by the ids that hash alike; a collision only costs a cache put
+    private static final int STRIPES = 1024;
+
+    // null when the cache is switched off for this deployment
+    private final Cache<Long, EmployeeSnapshot> cache;
+    private final AtomicLongArray stamps = new AtomicLongArray(STRIPES);
+
+    public EmployeeCache(MeterRegistry meterRegistry,
+                         @Value("${app.cache.employees.enabled:true}") boolean enabled,
+                         @Value("${app.cache.employees.max-size:100000}") long maxSize,
+                         @Value("${app.cache.employees.ttl-seconds:300}") long ttlSeconds) {
+        if (!enabled) {
+            log.info("Employee cache disabled");
+            this.cache = null;
+            return;
+        }
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        // cache.gets{result=hit|miss}, cache.evictions, cache.size tagged cache=employees
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "employees");
+    }
+
+    /**
+     * Returns fresh copies for the ids that exist; {@code loader} is only asked for the ids that are not cached.
+     */
+    public Map<Long, Employee> getAll(Collection<Long> ids, Function<Collection<Long>, List<Employee>> loader) {
+        Map<Long, EmployeeSnapshot> snapshots;
+        if (cache == null) {
+            snapshots = toSnapshots(loader.apply(ids), EmployeeSnapshot::of);
+        } else {
+            snapshots = new HashMap<>(cache.getAllPresent(ids));
+            List<Long> missing = ids.stream().filter(id -> !snapshots.containsKey(id)).distinct().toList();
+            if (!missing.isEmpty()) {
+                snapshots.putAll(load(missing, loader, EmployeeSnapshot::of));
+            }
+        }
+        Map<Long, Employee> result = new HashMap<>(snapshots.size() * 2);
+        snapshots.forEach((id, snapshot) -> result.put(id, snapshot.toEmployee()));
+        return result;
+    }
+
+    /**
+     * Returns a fresh copy of the employee with its skills, or null if it does not exist. {@code loader} must
+     * set the skills; it is only asked when the employee is not cached, or was cached without them.
+     */
+    public Employee getWithSkills(Long id, Function<Collection<Long>, List<Employee>> loader) {
+        EmployeeSnapshot snapshot;
+        if (cache == null) {
+            snapshot = toSnapshots(loader.apply(List.of(id)), EmployeeSnapshot::withSkills).get(id);
+        } else {
+            snapshot = cache.getIfPresent(id);
+            if (snapshot == null || snapshot.skills() == null) {
+                snapshot = load(List.of(id), loader, EmployeeSnapshot::withSkills).get(id);
+            }
+        }
+        return snapshot == null ? null : snapshot.toEmployee();
+    }
+
+    /*
+     * A load can read a row just before a mutation of it commits, and the invalidation can run before the load
+     * caches what it read. So every invalidation first bumps the id's stamp, and a loaded entry is put, then
+     * dropped again if its stamp moved since before the load: either the invalidation sees the entry, or the
+     * load sees the new stamp.
+     */
+    private Map<Long, EmployeeSnapshot> load(List<Long> ids, Function<Collection<Long>, List<Employee>> loader,
+                                             Function<Employee, EmployeeSnapshot> snapshotter) {
+        long[] before = new long[ids.size()];
+        for (int i = 0; i < before.length; i++) {
+            before[i] = stamps.get(stripe(ids.get(i)));
+        }
+        // Entries live until the next change of that employee, so they must not come from a lagging replica
+        Map<Long, EmployeeSnapshot> loaded = ConsistentReads.call(() -> toSnapshots(loader.apply(ids), snapshotter));
+        for (int i = 0; i < before.length; i++) {
+            Long id = ids.get(i);
+            EmployeeSnapshot snapshot = loaded.get(id);
+            if (snapshot == null) {
+                continue;
+            }
+            cache.put(id, snapshot);
+            if (stamps.get(stripe(id)) != before[i]) {
+                cache.invalidate(id);
+            }
+        }
+        return loaded;
+    }
+
+    @TransactionalEventListener
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        if (cache != null) {
+            stamps.incrementAndGet(stripe(event.id()));
+            cache.invalidate(event.id());
+        }
+    }
+
+    private static int stripe(long id) {
+        return Long.hashCode(id * 0x9E3779B97F4A7C15L) & (STRIPES - 1);
+    }
+
+    private static Map<Long, EmployeeSnapshot> toSnapshots(List<Employee> employees, Function<Employee, EmployeeSnapshot> snapshotter) {
+        return employees.stream().collect(Collectors.toMap(Employee::getId, snapshotter));
+    }
+}
@@ -0,0 +1,101 @@
+package com.staff.employee.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.staff.employee.config.ConsistentReads;
+import com.staff.employee.dto.EmployeePage;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.function.Supplier;
+
+/**
+ * Whole-result cache for listEmployees. Entries are tagged with the {@link DataVersion} they were computed at
+ * and are ignored once any mutation has committed since. Cached pages are shared between requests and must be
+ * treated as read-only.
+ */
+@Component
+@Slf4j
+public class EmployeePageCache {
+
+    private final DataVersion dataVersion;
+    // null when the cache is switched off for this deployment
+    private final Cache<EmployeePageKey, CachedPage> cache;
+
+    public EmployeePageCache(DataVersion dataVersion, MeterRegistry meterRegistry,
+                             @Value("${app.cache.pages.enabled:true}") boolean enabled,
+                             @Value("${app.cache.pages.max-size:10000}") long maxSize,
+                             @Value("${app.cache.pages.ttl-seconds:60}") long ttlSeconds) {
+        this.dataVersion = dataVersion;
+        if (!enabled) {
+            log.info("listEmployees page cache disabled");
+            this.cache = null;
+            return;
+        }
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "employee-pages");
+    }
+
+    /**
+     * Entity tag of the result for {@code key} at the current data version. Equal tags mean equal results.
+     */
+    public String etag(EmployeePageKey key) {
+        return etag(key, dataVersion.current());
+    }
+
+    public EmployeePage get(EmployeePageKey key, Supplier<EmployeePage> loader) {
+        // Read the version before loading: a mutation committing meanwhile makes the entry stale, never wrong
+        long version = dataVersion.current();
+        String etag = etag(key, version);
+        if (cache == null) {
+            return withEtag(loader.get(), etag);
+        }
+        CachedPage cached = cache.getIfPresent(key);
+        if (cached != null && cached.version() == version) {
+            return cached.page();
+        }
+        // Tagged with the current version, so a page read from a replica that lacks a recent write would outlive it
+        EmployeePage page = withEtag(ConsistentReads.call(loader), etag);
+        cache.put(key, new CachedPage(version, page));
+        return page;
+    }
+
+    private String etag(EmployeePageKey key, long version) {
+        return "W/\"" + dataVersion.epoch() + "-" + version + "-" + digest(key) + "\"";
+    }
+
+    // 128 bits of SHA-256: unlike hashCode, distinct keys do not plausibly share a tag
+    static String digest(EmployeePageKey key) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(key.canonicalForm().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 16);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    private static EmployeePage withEtag(EmployeePage page, String etag) {
+        return EmployeePage.builder()
+                .content(page.content())
+                .totalElements(page.totalElements())
+                .totalPages(page.totalPages())
+                .hasNext(page.hasNext())
+                .etag(etag)
+                .build();
+    }
+
+    private record CachedPage(long version, EmployeePage page) {
+    }
+}
@@ -0,0 +1,101 @@
+package com.staff.employee.cache;
+
+import com.staff.employee.dto.EmployeeFilter;
+import com.staff.employee.dto.TotalsMode;
+import org.springframework.data.domain.Sort;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Canonical identity of a listEmployees result. Requests that differ only in spelling (blank vs missing filter
+ * fields, letter case of nameContains, field order) share a key; the caller's roles are part of it so a cached
+ * page is never served across authorization boundaries.
+ */
+public record EmployeePageKey(
+        EmployeeFilter filter,
+        Sort sort,
+        int page,
+        int size,
+        TotalsMode totals,
+        Set<String> columns,
+        Set<String> roles
+) {
+
+    public static EmployeePageKey of(EmployeeFilter filter, Sort sort, int page, int size, TotalsMode totals,
+                                     Collection<String> columns, Collection<String> roles) {
+        return new EmployeePageKey(canonical(filter), sort, page, size, totals, new TreeSet<>(columns), new TreeSet<>(roles));
+    }
+
+    /**
+     * Unambiguous text form of the key, for digests: each value is length-prefixed and each list counted, so
+     * two keys share it only when they are equal.
+     */
+    public String canonicalForm() {
+        StringBuilder out = new StringBuilder();
+        append(out, filter.nameContains());
+        append(out, filter.minAge());
+        append(out, filter.maxAge());
+        append(out, filter.department());
+        append(out, filter.skillsAny());
+        append(out, filter.skillsAll());
+        List<Sort.Order> orders = sort.toList();
+        out.append(orders.size()).append('[');
+        for (Sort.Order order : orders) {
+            append(out, order.getProperty());
+            append(out, order.getDirection());
+            append(out, order.isIgnoreCase());
+            append(out, order.getNullHandling());
+        }
+        append(out, page);
+        append(out, size);
+        append(out, totals);
+        append(out, columns);
+        append(out, roles);
+        return out.toString();
+    }
+
+    private static void append(StringBuilder out, Collection<String> values) {
+        if (values == null) {
+            out.append('-');
+            return;
+        }
+        out.append(values.size()).append('[');
+        values.forEach(value -> append(out, value));
+    }
+
+    private static void append(StringBuilder out, Object value) {
+        if (value == null) {
+            out.append('-');
+            return;
+        }
+        String text = value.toString();
+        out.append(text.length()).append(':').append(text);
+    }
+
+    private static EmployeeFilter canonical(EmployeeFilter filter) {
+        if (filter == null) {
+            return EmployeeFilter.builder().build();
+        }
+        // Mirrors how EmployeeService.buildSpec interprets the filter
+        return EmployeeFilter.builder()
+                .nameContains(isBlank(filter.nameContains()) ? null : filter.nameContains().toLowerCase())
+                .minAge(filter.minAge())
+                .maxAge(filter.maxAge())
+                .department(isBlank(filter.department()) ? null : filter.department())
+                .skillsAny(canonical(filter.skillsAny()))
+                .skillsAll(canonical(filter.skillsAll()))
+                .build();
+    }
+
+    // Skill lists are sets: order and duplicates do not change the result
+    private static List<String> canonical(List<String> skills) {
+        return skills == null || skills.isEmpty() ? null : List.copyOf(new TreeSet<>(skills));
+    }
+
+    private static boolean isBlank(String s) {
+        return s == null || s.isBlank();
+    }
+}
@@ -0,0 +1,680 @@
+package com.staff.employee.columnar;
+
+import com.staff.employee.config.ConsistentReads;
+import com.staff.employee.dto.EmployeeFilter;
+import com.staff.employee.event.EmployeeChangedEvent;
+import com.staff.employee.index.SkillIndex;
+import com.staff.employee.model.Employee;
+import com.staff.employee.model.EmployeeSnapshot;
+import com.staff.employee.repository.EmployeeRepository;
+import com.staff.employee.repository.EmployeeRepositoryCustom;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Columnar in-memory copy of the employee columns that answers listEmployees filters and sorts without SQL
+ * ({@code app.query.columnar.enabled}). Row r of every array describes one employee: ages and attendance are
+ * {@code int[]}, versions {@code long[]}, names and departments codes into dictionaries of their distinct
+ * values, so {@code nameContains} and {@code department} are decided once per distinct value and the scan only
+ * compares ints. Skill filters come from {@link SkillIndex}. The page is picked from the matches with a top-k
+ * selection instead of sorting them all, and large snapshots are scanned in parallel chunks.
+ * <p>
+ * Results equal the SQL path's: nulls sort first ascending and last descending, as in H2, names compare as
+ * Java strings, and rows that tie on every sort key are ordered by id (SQL leaves their order open). Change
+ * events keep the snapshot current, like the indexes.
+ */
+@Component
+@Slf4j
+public class ColumnarEmployeeStore {
+
+    // Null ages and attendance; sorts below every real value, as H2 sorts nulls
+    private static final int NULL_INT = Integer.MIN_VALUE;
+    private static final long NULL_LONG = Long.MIN_VALUE;
+    private static final int LOAD_CHUNK = 10_000;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final EmployeeRepository repository;
+    private final SkillIndex skillIndex;
+    private final boolean enabled;
+    private final int parallelMinRows;
+    // null: scans run on the calling thread only
+    private final ForkJoinPool pool;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Rows are in no particular order; a delete moves the last row into the gap
+    private int size;
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private int[] nameCodes = new int[INITIAL_CAPACITY];
+    private int[] ages = new int[INITIAL_CAPACITY];
+    private int[] departmentCodes = new int[INITIAL_CAPACITY];
+    private int[] attendance = new int[INITIAL_CAPACITY];
+    private long[] versions = new long[INITIAL_CAPACITY];
+    private LongIntHashMap rowsById = new LongIntHashMap(INITIAL_CAPACITY);
+    private Dictionary names = new Dictionary();
+    private Dictionary departments = new Dictionary();
+    private volatile boolean ready;
+
+    public ColumnarEmployeeStore(EmployeeRepository repository, SkillIndex skillIndex,
+                                 @Value("${app.query.columnar.enabled:false}") boolean enabled,
+                                 @Value("${app.query.columnar.parallelism:0}") int parallelism,
+                                 @Value("${app.query.columnar.parallel-min-rows:200000}") int parallelMinRows) {
+        this.repository = repository;
+        this.skillIndex = skillIndex;
+        this.enabled = enabled;
+        this.parallelMinRows = parallelMinRows;
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.pool = !enabled || threads < 2 ? null : new ForkJoinPool(threads, p -> {
+            ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            t.setName("columnar-scan-" + t.getPoolIndex());
+            return t;
+        }, null, false);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            reset();
+            // Events keep the snapshot current from here on, so it must not start from a lagging replica
+            ConsistentReads.run(this::loadFromDatabase);
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Columnar snapshot built: {} employees, {} distinct names in {} ms",
+                size, names.size, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Replaces the contents with {@code employees} and marks the snapshot ready, for loading from somewhere
+     * other than the database. Skills in the snapshots are ignored.
+     */
+    public void load(Iterable<EmployeeSnapshot> employees) {
+        lock.writeLock().lock();
+        try {
+            reset();
+            employees.forEach(this::upsert);
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void loadFromDatabase() {
+        long after = 0;
+        List<Object[]> rows;
+        do {
+            rows = repository.findColumnsAfter(after, PageRequest.ofSize(LOAD_CHUNK));
+            for (Object[] row : rows) {
+                upsert(new EmployeeSnapshot((Long) row[0], (String) row[1], (Integer) row[2], (String) row[3],
+                        (Integer) row[4], (Long) row[5], null));
+            }
+            if (!rows.isEmpty()) after = (Long) rows.get(rows.size() - 1)[0];
+        } while (rows.size() == LOAD_CHUNK);
+    }
+
+    @TransactionalEventListener
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            // Every change carries all scalar columns of the employee as written
+            if (event.after() == null) {
+                remove(event.id());
+            } else {
+                upsert(event.after());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Result of {@link #findRange}.
+     *
+     * @param matches number of employees matching the filter, whatever the range
+     */
+    public record Range(List<Employee> rows, long matches) {
+    }
+
+    /**
+     * The {@code limit} employees from {@code offset} that match {@code filter} in {@code sort} order, projected
+     * on {@code columns} like {@link EmployeeRepositoryCustom#findRange}, plus the number of matches. Null when
+     * the snapshot cannot answer: disabled or still loading, sorting on something other than a column, a
+     * {@code nameContains} with LIKE wildcards in it, or skill filters while the skill index is unavailable.
+     */
+    public Range findRange(EmployeeFilter filter, Sort sort, long offset, int limit, Collection<String> columns) {
+        if (!ready || !sortable(sort)) {
+            return null;
+        }
+        String needle = null;
+        Roaring64NavigableMap skills = null;
+        if (filter != null) {
+            if (hasText(filter.nameContains())) {
+                // SQL gives %, _ and the escape character special meaning; leave those to it
+                if (filter.nameContains().chars().anyMatch(c -> c == '%' || c == '_' || c == '\\')) {
+                    return null;
+                }
+                needle = filter.nameContains().toLowerCase(Locale.ROOT);
+            }
+            if (hasItems(filter.skillsAny())) {
+                skills = skillIndex.anyOf(filter.skillsAny());
+                if (skills == null) return null;
+            }
+            if (hasItems(filter.skillsAll())) {
+                Roaring64NavigableMap all = skillIndex.allOf(filter.skillsAll());
+                if (all == null) return null;
+                if (skills == null) skills = all;
+                else skills.and(all);
+            }
+        }
+        lock.readLock().lock();
+        try {
+            RowFilter rowFilter = rowFilter(filter, needle, skills);
+            if (rowFilter == null) {
+                return new Range(List.of(), 0);
+            }
+            int k = (int) Math.min(offset + limit, size);
+            TopK top = scan(rowFilter, rowOrder(sort), k);
+            int[] page = top.page(offset);
+            List<Employee> rows = new ArrayList<>(page.length);
+            for (int row : page) {
+                rows.add(employee(row, columns));
+            }
+            return new Range(rows, top.matches);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static boolean sortable(Sort sort) {
+        for (Sort.Order order : sort) {
+            if (!EmployeeRepositoryCustom.COLUMNS.contains(order.getProperty()) || order.isIgnoreCase()
+                    || order.getNullHandling() != Sort.NullHandling.NATIVE) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Null when no employee can match
+    private RowFilter rowFilter(EmployeeFilter filter, String needle, Roaring64NavigableMap skills) {
+        int department = RowFilter.ANY;
+        int minAge = Integer.MIN_VALUE, maxAge = Integer.MAX_VALUE;
+        boolean checkAge = false;
+        boolean[] nameMatches = null;
+        if (filter != null) {
+            if (hasText(filter.department())) {
+                department = departments.find(filter.department());
+                if (department < 0) return null;
+            }
+            if (filter.minAge() != null) {
+                minAge = filter.minAge();
+                checkAge = true;
+            }
+            if (filter.maxAge() != null) {
+                maxAge = filter.maxAge();
+                checkAge = true;
+            }
+            if (needle != null) {
+                nameMatches = new boolean[names.size];
+                for (int code = 0; code < names.size; code++) {
+                    nameMatches[code] = names.lowerCase[code].contains(needle);
+                }
+            }
+        }
+        return new RowFilter(ids, nameCodes, ages, departmentCodes, department, checkAge, minAge, maxAge, nameMatches, skills);
+    }
+
+    private RowOrder rowOrder(Sort sort) {
+        List<RowKey> keys = new ArrayList<>();
+        List<Boolean> descending = new ArrayList<>();
+        boolean byId = false;
+        for (Sort.Order order : sort) {
+            keys.add(rowKey(order.getProperty()));
+            descending.add(order.isDescending());
+            byId |= order.getProperty().equals("id");
+        }
+        if (!byId) {
+            keys.add(rowKey("id"));
+            descending.add(false);
+        }
+        boolean[] desc = new boolean[descending.size()];
+        for (int i = 0; i < desc.length; i++) desc[i] = descending.get(i);
+        return new RowOrder(keys.toArray(new RowKey[0]), desc);
+    }
+
+    // Captures the current arrays, which stay put while the read lock is held
+    private RowKey rowKey(String property) {
+        return switch (property) {
+            case "id" -> {
+                long[] column = ids;
+                yield row -> column[row];
+            }
+            case "name" -> {
+                int[] codes = nameCodes;
+                int[] ranks = names.ranks();
+                yield row -> ranks[codes[row]];
+            }
+            case "age" -> {
+                int[] column = ages;
+                yield row -> column[row];
+            }
+            case "department" -> {
+                int[] codes = departmentCodes;
+                int[] ranks = departments.ranks();
+                yield row -> codes[row] < 0 ? -1 : ranks[codes[row]];
+            }
+            case "attendance" -> {
+                int[] column = attendance;
+                yield row -> column[row];
+            }
+            case "version" -> {
+                long[] column = versions;
+                yield row -> column[row];
+            }
+            default -> throw new IllegalArgumentException("Unknown column: " + property);
+        };
+    }
+
+    private TopK scan(RowFilter filter, RowOrder order, int k) {
+        int n = size;
+        if (pool == null || n < parallelMinRows) {
+            TopK top = new TopK(order, k);
+            filter.scan(0, n, top);
+            return top;
+        }
+        int chunks = pool.getParallelism();
+        int chunkSize = (n + chunks - 1) / chunks;
+        List<Callable<TopK>> tasks = new ArrayList<>(chunks);
+        for (int from = 0; from < n; from += chunkSize) {
+            int start = from, end = Math.min(n, from + chunkSize);
+            tasks.add(() -> {
+                TopK top = new TopK(order, k);
+                filter.scan(start, end, top);
+                return top;
+            });
+        }
+        TopK merged = new TopK(order, k);
+        try {
+            for (Future<TopK> part : pool.invokeAll(tasks)) {
+                merged.merge(part.get());
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while scanning the columnar snapshot", ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Columnar scan failed", ex.getCause());
+        }
+        return merged;
+    }
+
+    private Employee employee(int row, Collection<String> columns) {
+        Employee e = new Employee();
+        for (String column : columns) {
+            switch (column) {
+                case "id" -> e.setId(ids[row]);
+                case "name" -> e.setName(names.values[nameCodes[row]]);
+                case "age" -> e.setAge(ages[row] == NULL_INT ? null : ages[row]);
+                case "department" -> e.setDepartment(departmentCodes[row] < 0 ? null : departments.values[departmentCodes[row]]);
+                case "attendance" -> e.setAttendance(attendance[row] == NULL_INT ? null : attendance[row]);
+                case "version" -> e.setVersion(versions[row] == NULL_LONG ? null : versions[row]);
+                default -> throw new IllegalArgumentException("Unknown column: " + column);
+            }
+        }
+        return e;
+    }
+
+    private void reset() {
+        ready = false;
+        size = 0;
+        rowsById = new LongIntHashMap(INITIAL_CAPACITY);
+        names = new Dictionary();
+        departments = new Dictionary();
+    }
+
+    private void upsert(EmployeeSnapshot e) {
+        int row = rowsById.get(e.id());
+        if (row < 0) {
+            row = size;
+            grow(size + 1);
+            size++;
+            ids[row] = e.id();
+            rowsById.put(e.id(), row);
+        }
+        nameCodes[row] = names.code(e.name());
+        ages[row] = e.age() == null ? NULL_INT : e.age();
+        departmentCodes[row] = departments.code(e.department());
+        attendance[row] = e.attendance() == null ? NULL_INT : e.attendance();
+        versions[row] = e.version() == null ? NULL_LONG : e.version();
+    }
+
+    private void remove(long id) {
+        int row = rowsById.get(id);
+        if (row < 0) {
+            return;
+        }
+        rowsById.remove(id);
+        int last = --size;
+        if (row != last) {
+            ids[row] = ids[last];
+            nameCodes[row] = nameCodes[last];
+            ages[row] = ages[last];
+            departmentCodes[row] = departmentCodes[last];
+            attendance[row] = attendance[last];
+            versions[row] = versions[last];
+            rowsById.put(ids[row], row);
+        }
+    }
+
+    private void grow(int required) {
+        if (required <= ids.length) {
+            return;
+        }
+        int capacity = Math.max(required, ids.length + (ids.length >> 1));
+        ids = Arrays.copyOf(ids, capacity);
+        nameCodes = Arrays.copyOf(nameCodes, capacity);
+        ages = Arrays.copyOf(ages, capacity);
+        departmentCodes = Arrays.copyOf(departmentCodes, capacity);
+        attendance = Arrays.copyOf(attendance, capacity);
+        versions = Arrays.copyOf(versions, capacity);
+    }
+
+    private static boolean hasText(String s) {
+        return s != null && !s.isBlank();
+    }
+
+    private static boolean hasItems(List<String> list) {
+        return list != null && !list.isEmpty();
+    }
+
+    /**
+     * Distinct values of a string column; rows hold their code. Entries are never removed, so a value no row
+     * uses any more stays until the next full build.
+     */
+    private static final class Dictionary {
+
+        private final Map<String, Integer> codes = new HashMap<>();
+        private String[] values = new String[16];
+        private String[] lowerCase = new String[16];
+        private int size;
+        // Position of each code in sorted order; rebuilt on the first sort after the dictionary grew
+        private volatile int[] ranks;
+
+        // -1 for null
+        int code(String value) {
+            if (value == null) {
+                return -1;
+            }
+            Integer code = codes.get(value);
+            if (code != null) {
+                return code;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+                lowerCase = Arrays.copyOf(lowerCase, size * 2);
+            }
+            values[size] = value;
+            lowerCase[size] = value.toLowerCase(Locale.ROOT);
+            codes.put(value, size);
+            return size++;
+        }
+
+        // -1 when no row has the value
+        int find(String value) {
+            return codes.getOrDefault(value, -1);
+        }
+
+        // Called under the read lock only, so the dictionary does not change meanwhile; concurrent callers at
+        // worst compute the same ranks twice
+        int[] ranks() {
+            int[] current = ranks;
+            if (current != null && current.length == size) {
+                return current;
+            }
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) order[i] = i;
+            String[] v = values;
+            Arrays.sort(order, (a, b) -> v[a].compareTo(v[b]));
+            int[] fresh = new int[size];
+            for (int i = 0; i < size; i++) fresh[order[i]] = i;
+            ranks = fresh;
+            return fresh;
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowKey {
+        long at(int row);
+    }
+
+    private static final class RowOrder {
+
+        private final RowKey[] keys;
+        private final boolean[] descending;
+
+        RowOrder(RowKey[] keys, boolean[] descending) {
+            this.keys = keys;
+            this.descending = descending;
+        }
+
+        int compare(int a, int b) {
+            for (int i = 0; i < keys.length; i++) {
+                int c = Long.compare(keys[i].at(a), keys[i].at(b));
+                if (c != 0) return descending[i] ? -c : c;
+            }
+            return 0;
+        }
+    }
+
+    /**
+     * The predicates of one filter over the current arrays. Every check is an int comparison or an array
+     * lookup, with the cheapest and most selective first.
+     */
+    private static final class RowFilter {
+
+        static final int ANY = -2;
+
+        private final long[] ids;
+        private final int[] nameCodes;
+        private final int[] ages;
+        private final int[] departmentCodes;
+        private final int department;
+        private final boolean checkAge;
+        private final int minAge;
+        private final int maxAge;
+        private final boolean[] nameMatches;
+        private final Roaring64NavigableMap skills;
+
+        RowFilter(long[] ids, int[] nameCodes, int[] ages, int[] departmentCodes, int department, boolean checkAge,
+                  int minAge, int maxAge, boolean[] nameMatches, Roaring64NavigableMap skills) {
+            this.ids = ids;
+            this.nameCodes = nameCodes;
+            this.ages = ages;
+            this.departmentCodes = departmentCodes;
+            this.department = department;
+            this.checkAge = checkAge;
+            this.minAge = minAge;
+            this.maxAge = maxAge;
+            this.nameMatches = nameMatches;
+            this.skills = skills;
+        }
+
+        void scan(int from, int to, TopK top) {
+            for (int row = from; row < to; row++) {
+                if (department != ANY && departmentCodes[row] != department) continue;
+                if (checkAge) {
+                    int age = ages[row];
+                    if (age == NULL_INT || age < minAge || age > maxAge) continue;
+                }
+                if (nameMatches != null && !nameMatches[nameCodes[row]]) continue;
+                if (skills != null && !skills.contains(ids[row])) continue;
+                top.offer(row);
+            }
+        }
+    }
+
+    /**
+     * The k first rows in sort order seen so far, plus a count of every row offered. Candidates collect in a
+     * buffer of up to 2k rows; when it fills, a quickselect keeps the best k, and the last of them becomes the
+     * bar later rows must beat. Each row then costs O(1) comparisons amortized however deep the page, where a
+     * heap pays log k for every row it admits, and deep pages admit most of them.
+     */
+    private static final class TopK {
+
+        private static final int INSERTION_SORT_MAX = 16;
+
+        private final RowOrder order;
+        private final int k;
+        private int[] rows;
+        private int size;
+        // The k-th row after the last compaction, or -1 before the first
+        private int bar = -1;
+        long matches;
+
+        TopK(RowOrder order, int k) {
+            this.order = order;
+            this.k = k;
+            this.rows = new int[(int) Math.min(2L * k, INITIAL_CAPACITY)];
+        }
+
+        void offer(int row) {
+            matches++;
+            add(row);
+        }
+
+        void merge(TopK other) {
+            matches += other.matches;
+            for (int i = 0; i < other.size; i++) {
+                add(other.rows[i]);
+            }
+        }
+
+        private void add(int row) {
+            if (k == 0 || (bar >= 0 && order.compare(row, bar) >= 0)) {
+                return;
+            }
+            if (size == rows.length) {
+                if (size < 2L * k) {
+                    rows = Arrays.copyOf(rows, (int) Math.min(2L * k, 2L * size));
+                } else {
+                    select(0, size, k - 1);
+                    size = k;
+                    bar = rows[k - 1];
+                }
+            }
+            rows[size++] = row;
+        }
+
+        /**
+         * Rows {@code from} up to k of the sort order, sorted; only that window is ever fully ordered.
+         */
+        int[] page(long from) {
+            int end = Math.min(k, size);
+            if (from >= end) {
+                return new int[0];
+            }
+            if (size > k) {
+                select(0, size, k - 1);
+            }
+            select(0, end, (int) from);
+            sort((int) from + 1, end);
+            return Arrays.copyOfRange(rows, (int) from, end);
+        }
+
+        // Afterwards rows[nth] is the row the sort order puts there, with only smaller rows before it
+        private void select(int lo, int hi, int nth) {
+            while (hi - lo > INSERTION_SORT_MAX) {
+                int p = partition(lo, hi);
+                if (p == nth) return;
+                if (nth < p) hi = p;
+                else lo = p + 1;
+            }
+            insertionSort(lo, hi);
+        }
+
+        private void sort(int lo, int hi) {
+            while (hi - lo > INSERTION_SORT_MAX) {
+                int p = partition(lo, hi);
+                // Recurse into the smaller side, so the stack stays logarithmic
+                if (p - lo < hi - p) {
+                    sort(lo, p);
+                    lo = p + 1;
+                } else {
+                    sort(p + 1, hi);
+                    hi = p;
+                }
+            }
+            insertionSort(lo, hi);
+        }
+
+        // Around the median of the first, middle and last rows. No two rows compare equal: the order ends on id
+        private int partition(int lo, int hi) {
+            int mid = (lo + hi) >>> 1, last = hi - 1;
+            if (order.compare(rows[mid], rows[lo]) < 0) swap(mid, lo);
+            if (order.compare(rows[last], rows[lo]) < 0) swap(last, lo);
+            if (order.compare(rows[mid], rows[last]) < 0) swap(mid, last);
+            int pivot = rows[last];
+            int store = lo;
+            for (int i = lo; i < last; i++) {
+                if (order.compare(rows[i], pivot) < 0) swap(i, store++);
+            }
+            swap(store, last);
+            return store;
+        }
+
+        private void insertionSort(int lo, int hi) {
+            for (int i = lo + 1; i < hi; i++) {
+                int row = rows[i];
+                int j = i - 1;
+                while (j >= lo && order.compare(rows[j], row) > 0) {
+                    rows[j + 1] = rows[j];
+                    j--;
+                }
+                rows[j + 1] = row;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int t = rows[a];
+            rows[a] = rows[b];
+            rows[b] = t;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.staff.employee.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application's DataSource, the bean named {@code dataSource} (Boot's pool, or the {@code @Primary}
+ * replica-routing proxy), in a {@link BoundedDataSource}. Other DataSource beans, such as the
+ * {@link ReplicaRoutingDataSource} behind that proxy, are left alone: they are injected by their own type, and a
+ * second semaphore beneath the first would only halve the permits. Unless {@code permits} is set, it is the
+ * total capacity of the pools behind the bean, replicas included.
+ */
+@Slf4j
+public class BoundedDataSourcePostProcessor implements BeanPostProcessor {
+
+    static final String BEAN_NAME = "dataSource";
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final int permits;
+    private final long timeoutMs;
+    private final boolean enabled;
+
+    /**
+     * @param permits at most this many borrowers, or 0 for the pools' total capacity
+     * @param enabled false leaves every bean as it is, as when the JVM has no virtual threads
+     */
+    public BoundedDataSourcePostProcessor(ObjectProvider<MeterRegistry> meterRegistry, int permits, long timeoutMs, boolean enabled) {
+        this.meterRegistry = meterRegistry;
+        this.permits = permits;
+        this.timeoutMs = timeoutMs;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!enabled || !BEAN_NAME.equals(beanName) || !(bean instanceof DataSource dataSource)
+                || bean instanceof BoundedDataSource || bean instanceof ReplicaRoutingDataSource) {
+            return bean;
+        }
+        int limit = permits > 0 ? permits : capacity(dataSource);
+        BoundedDataSource bounded = new BoundedDataSource(dataSource, limit, timeoutMs);
+        meterRegistry.ifAvailable(registry -> Gauge.builder("datasource.borrowers.waiting", bounded, BoundedDataSource::queueLength)
+                .description("Threads queued for a connection permit")
+                .register(registry));
+        log.info("DataSource '{}' limited to {} concurrent borrowers", beanName, limit);
+        return bounded;
+    }
+
+    /**
+     * Connections the pools behind {@code dataSource} can hand out at once, looking through delegating proxies.
+     */
+    static int capacity(DataSource dataSource) {
+        DataSource target = dataSource;
+        while (target instanceof DelegatingDataSource delegating && delegating.getTargetDataSource() != null) {
+            target = delegating.getTargetDataSource();
+        }
+        if (target instanceof ReplicaRoutingDataSource routing) {
+            int total = routing.primary().getMaximumPoolSize();
+            for (HikariDataSource replica : routing.replicas()) {
+                total += replica.getMaximumPoolSize();
+            }
+            return total;
+        }
+        if (target instanceof HikariDataSource hikari) {
+            return hikari.getMaximumPoolSize();
+        }
+        throw new IllegalStateException("Cannot tell the pool size of " + target.getClass().getName()
+                + "; set app.datasource.max-concurrent-borrowers");
+    }
+}
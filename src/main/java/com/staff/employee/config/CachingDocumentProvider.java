@@ -0,0 +1,91 @@
+package com.staff.employee.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.execution.preparsed.persisted.ApolloPersistedQuerySupport;
+import graphql.execution.preparsed.persisted.PersistedQueryCache;
+import graphql.execution.preparsed.persisted.PersistedQueryCacheMiss;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Skips parsing and validation for operations seen before. Two bounded caches hold parsed and validated
+ * documents: one keyed by query text, one by the SHA-256 of Apollo automatic persisted queries (APQ).
+ * An APQ request with an unknown hash gets a PersistedQueryNotFound error, and the client retries with
+ * the text. That text is verified against the hash before it is registered. Documents with validation
+ * errors are never cached.
+ */
+public class CachingDocumentProvider implements PreparsedDocumentProvider {
+
+    private final Cache<String, PreparsedDocumentEntry> byText;
+    private final Cache<Object, PreparsedDocumentEntry> byHash;
+    // null when persisted queries are switched off
+    private final PreparsedDocumentProvider persistedQueries;
+
+    public CachingDocumentProvider(MeterRegistry meterRegistry, long maxDocuments, boolean persistedQueriesEnabled,
+                                   long maxPersistedQueries) {
+        this.byText = Caffeine.newBuilder().maximumSize(maxDocuments).recordStats().build();
+        this.byHash = Caffeine.newBuilder().maximumSize(maxPersistedQueries).recordStats().build();
+        CaffeineCacheMetrics.monitor(meterRegistry, byText, "graphql.documents");
+        CaffeineCacheMetrics.monitor(meterRegistry, byHash, "graphql.persisted-queries");
+        this.persistedQueries = persistedQueriesEnabled ? new ApolloPersistedQuerySupport(new HashCache()) : null;
+    }
+
+    @Override
+    public CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(ExecutionInput executionInput,
+                                                                      Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidate) {
+        Function<ExecutionInput, PreparsedDocumentEntry> cached = input -> {
+            PreparsedDocumentEntry entry = byText.getIfPresent(input.getQuery());
+            if (entry == null) {
+                entry = parseAndValidate.apply(input);
+                if (!entry.hasErrors()) byText.put(input.getQuery(), entry);
+            }
+            return entry;
+        };
+        // Requests without a persistedQuery extension pass straight through to the text cache
+        return persistedQueries == null
+                ? CompletableFuture.completedFuture(cached.apply(executionInput))
+                : persistedQueries.getDocumentAsync(executionInput, cached);
+    }
+
+    // Still abstract in graphql-java 20, whose GraphQL only calls getDocumentAsync
+    @Deprecated
+    @Override
+    public PreparsedDocumentEntry getDocument(ExecutionInput executionInput,
+                                              Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidate) {
+        return getDocumentAsync(executionInput, parseAndValidate).join();
+    }
+
+    private final class HashCache implements PersistedQueryCache {
+
+        @Override
+        public CompletableFuture<PreparsedDocumentEntry> getPersistedQueryDocumentAsync(Object persistedQueryId, ExecutionInput executionInput,
+                                                                                        PersistedQueryCacheMiss onCacheMiss) {
+            PreparsedDocumentEntry entry = byHash.getIfPresent(persistedQueryId);
+            if (entry != null) {
+                return CompletableFuture.completedFuture(entry);
+            }
+            // A hash-only request carries the marker instead of a query; null makes the miss handler
+            // answer PersistedQueryNotFound
+            String query = executionInput.getQuery();
+            entry = onCacheMiss.apply(PersistedQuerySupport.PERSISTED_QUERY_MARKER.equals(query) ? null : query);
+            if (!entry.hasErrors()) byHash.put(persistedQueryId, entry);
+            return CompletableFuture.completedFuture(entry);
+        }
+
+        // PersistedQuerySupport in graphql-java 20 still looks documents up through the synchronous method
+        @Deprecated
+        @Override
+        public PreparsedDocumentEntry getPersistedQueryDocument(Object persistedQueryId, ExecutionInput executionInput,
+                                                                PersistedQueryCacheMiss onCacheMiss) {
+            return getPersistedQueryDocumentAsync(persistedQueryId, executionInput, onCacheMiss).join();
+        }
+    }
+}
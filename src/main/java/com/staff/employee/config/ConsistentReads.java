@@ -0,0 +1,40 @@
+package com.staff.employee.config;
+
+import java.util.function.Supplier;
+
+/**
+ * Marks reads whose results outlive the request: shared caches and in-memory indexes. While one runs, the
+ * {@link ReplicaRoutingDataSource} only uses a replica once the last committed write is older than the
+ * read-your-writes window, so replication lag cannot be cached for an entry's whole lifetime. Without replica
+ * routing this is a plain call.
+ */
+public final class ConsistentReads {
+
+    private static final ThreadLocal<Boolean> REQUIRED = new ThreadLocal<>();
+
+    private ConsistentReads() {
+    }
+
+    public static <T> T call(Supplier<T> reads) {
+        Boolean previous = REQUIRED.get();
+        REQUIRED.set(Boolean.TRUE);
+        try {
+            return reads.get();
+        } finally {
+            if (previous == null) {
+                REQUIRED.remove();
+            }
+        }
+    }
+
+    public static void run(Runnable reads) {
+        call(() -> {
+            reads.run();
+            return null;
+        });
+    }
+
+    static boolean required() {
+        return REQUIRED.get() != null;
+    }
+}
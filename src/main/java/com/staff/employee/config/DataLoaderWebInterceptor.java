@@ -1,6 +1,7 @@
 package com.staff.employee.config;
 
 import com.staff.employee.dataloader.EmployeeDataLoader;
+import com.staff.employee.dataloader.SkillsDataLoader;
 import org.dataloader.DataLoaderRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,17 +16,22 @@ public class DataLoaderWebInterceptor implements WebGraphQlInterceptor {
 
     private static final Logger log = LoggerFactory.getLogger(DataLoaderWebInterceptor.class);
     private final EmployeeDataLoader employeeDataLoader;
+    private final SkillsDataLoader skillsDataLoader;
 
-    public DataLoaderWebInterceptor(EmployeeDataLoader employeeDataLoader) {
+    public DataLoaderWebInterceptor(EmployeeDataLoader employeeDataLoader, SkillsDataLoader skillsDataLoader) {
         this.employeeDataLoader = employeeDataLoader;
+        this.skillsDataLoader = skillsDataLoader;
     }
 
     @Override
     public Mono<WebGraphQlResponse> intercept(WebGraphQlRequest request, Chain chain) {
         // Create a per-request registry to avoid sharing loaders between requests
-        DataLoaderRegistry registry = new DataLoaderRegistry();
-        registry.register("employeeDataLoader", employeeDataLoader.getDataLoader());
-        request.configureExecutionInput((exec, builder) -> builder.dataLoaderRegistry(registry).build());
+        request.configureExecutionInput((exec, builder) -> {
+            DataLoaderRegistry registry = new DataLoaderRegistry();
+            registry.register("employeeDataLoader", employeeDataLoader.getDataLoader(exec.getGraphQLContext()));
+            registry.register("skillsDataLoader", skillsDataLoader.getDataLoader(exec.getGraphQLContext()));
+            return builder.dataLoaderRegistry(registry).build();
+        });
         return chain.next(request);
     }
 }
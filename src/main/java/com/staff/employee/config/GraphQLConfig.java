@@ -2,12 +2,17 @@ package com.staff.employee.config;
 
 import graphql.execution.instrumentation.Instrumentation;
 import graphql.execution.instrumentation.dataloader.DataLoaderDispatcherInstrumentation;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
 import graphql.language.IntValue;
 import graphql.language.StringValue;
 import graphql.schema.Coercing;
 import graphql.schema.CoercingParseLiteralException;
 import graphql.schema.CoercingSerializeException;
 import graphql.schema.GraphQLScalarType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.graphql.GraphQlSourceBuilderCustomizer;
 import org.springframework.graphql.execution.RuntimeWiringConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -22,6 +27,26 @@ public class GraphQLConfig {
         return new DataLoaderDispatcherInstrumentation();
     }
 
+    // Parsed and validated documents, by query text and by APQ hash
+    @Bean
+    public PreparsedDocumentProvider documentProvider(MeterRegistry meterRegistry,
+                                                      @Value("${app.graphql.documents.max-size:1000}") long maxDocuments,
+                                                      @Value("${app.graphql.persisted-queries.enabled:true}") boolean persistedQueries,
+                                                      @Value("${app.graphql.persisted-queries.max-size:10000}") long maxPersistedQueries) {
+        return new CachingDocumentProvider(meterRegistry, maxDocuments, persistedQueries, maxPersistedQueries);
+    }
+
+    @Bean
+    public GraphQlSourceBuilderCustomizer documentProviderCustomizer(PreparsedDocumentProvider documentProvider) {
+        return builder -> builder.configureGraphQl(graphQl -> graphQl.preparsedDocumentProvider(documentProvider));
+    }
+
+    // Operation names are client-supplied; stop registering new graphql.operation series past the cap
+    @Bean
+    public MeterFilter graphQlOperationTagLimit(@Value("${app.graphql.tracing.max-operation-names:100}") int maxOperationNames) {
+        return MeterFilter.maximumAllowableTags("graphql.operation", "operation", maxOperationNames, MeterFilter.deny());
+    }
+
     // Register a custom Long scalar so the schema can use `Long` (64-bit) safely.
     @Bean
     public RuntimeWiringConfigurer runtimeWiringConfigurer() {
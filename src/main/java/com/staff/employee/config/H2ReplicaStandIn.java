@@ -0,0 +1,99 @@
+package com.staff.employee.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replication stand-in for trying replica routing locally with separate in-memory H2 databases (the
+ * {@code replicas} profile). Every copy interval, each replica database replaces its heartbeat, employees and
+ * skills with the primary's, read through H2 linked tables in one transaction, so replicas really lag by up
+ * to their interval plus the copy time. The i-th replica uses the i-th interval (the last one repeats), which
+ * makes it easy to keep one replica inside the lag budget and another outside it. Whole tables are copied
+ * each time, so this is for small local data sets only.
+ */
+@Component
+@ConditionalOnProperty(name = "app.datasource.replicas.stand-in.enabled", havingValue = "true")
+@Slf4j
+public class H2ReplicaStandIn {
+
+    // Heartbeat first: the replica then never claims to be more recent than its data
+    private static final List<String> TABLES = List.of("replication_heartbeat", "employees", "employee_skills");
+
+    private final ReplicaRoutingDataSource routing;
+    private final DataSourceProperties primary;
+    private final List<Long> intervalsMs;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "replica-stand-in");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public H2ReplicaStandIn(ReplicaRoutingDataSource routing, DataSourceProperties primary,
+                            @Value("${app.datasource.replicas.stand-in.copy-intervals-ms:1000}") List<Long> intervalsMs) {
+        this.routing = routing;
+        this.primary = primary;
+        this.intervalsMs = intervalsMs;
+    }
+
+    // The primary's tables exist (and are seeded) by now
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        List<HikariDataSource> replicas = routing.replicas();
+        for (int i = 0; i < replicas.size(); i++) {
+            HikariDataSource replica = replicas.get(i);
+            long interval = intervalsMs.get(Math.min(i, intervalsMs.size() - 1));
+            executor.scheduleWithFixedDelay(() -> copy(replica), 0, interval, TimeUnit.MILLISECONDS);
+            log.info("Replica stand-in {} copies the primary every {} ms", replica.getPoolName(), interval);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    private void copy(HikariDataSource replica) {
+        // Its own connection: the replica pool hands out read-only ones
+        try (Connection con = DriverManager.getConnection(replica.getJdbcUrl(), replica.getUsername(), replica.getPassword());
+             Statement st = con.createStatement()) {
+            for (String table : TABLES) {
+                st.execute("create linked table if not exists source_" + table + "(null, " + literal(primary.determineUrl())
+                        + ", " + literal(primary.determineUsername()) + ", " + literal(primary.determinePassword())
+                        + ", " + literal(table.toUpperCase()) + ") readonly");
+                st.execute("create table if not exists " + table + " as select * from source_" + table + " with no data");
+            }
+            st.execute("create index if not exists employees_id on employees(id)");
+            st.execute("create index if not exists employees_name_id on employees(name, id)");
+            st.execute("create index if not exists employees_department_id on employees(department, id)");
+            st.execute("create index if not exists employee_skills_employee_id on employee_skills(employee_id)");
+            con.setAutoCommit(false);
+            for (String table : TABLES) {
+                st.execute("delete from " + table);
+                st.execute("insert into " + table + " select * from source_" + table);
+            }
+            con.commit();
+        } catch (SQLException | RuntimeException ex) {
+            log.warn("Replica stand-in {} failed to copy: {}", replica.getPoolName(), ex.getMessage());
+        }
+    }
+
+    private static String literal(String value) {
+        return value == null ? "null" : "'" + value.replace("'", "''") + "'";
+    }
+}
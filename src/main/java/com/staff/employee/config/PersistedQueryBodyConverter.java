@@ -0,0 +1,74 @@
+package com.staff.employee.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Map;
+
+/**
+ * Reads JSON request bodies into maps, and lets hash-only automatic persisted query requests reach graphql-java.
+ * Spring GraphQL rejects a POST without a "query" while building the request, before any interceptor or
+ * document provider runs. So when a body posted to the GraphQL path carries {@code extensions.persistedQuery}
+ * but no query, this fills in graphql-java's persisted-query marker on the map it has just parsed;
+ * {@link CachingDocumentProvider} does the rest. Every other body is read exactly as by the default converter.
+ */
+public class PersistedQueryBodyConverter extends MappingJackson2HttpMessageConverter {
+
+    private final String graphQlPath;
+
+    public PersistedQueryBodyConverter(ObjectMapper objectMapper, String graphQlPath) {
+        super(objectMapper);
+        this.graphQlPath = graphQlPath;
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return Map.class == ResolvableType.forType(type).resolve() && super.canRead(type, contextClass, mediaType);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return Map.class == clazz && super.canRead(clazz, mediaType);
+    }
+
+    // Responses are left to the default converters
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage)
+            throws IOException, HttpMessageNotReadableException {
+        Object body = super.read(type, contextClass, inputMessage);
+        if (body instanceof Map<?, ?> map && isGraphQlRequest(inputMessage) && isHashOnly(map)) {
+            ((Map<String, Object>) map).put("query", PersistedQuerySupport.PERSISTED_QUERY_MARKER);
+        }
+        return body;
+    }
+
+    private boolean isGraphQlRequest(HttpInputMessage inputMessage) {
+        return inputMessage instanceof ServletServerHttpRequest request
+                && graphQlPath.equals(UrlPathHelper.defaultInstance.getPathWithinApplication(request.getServletRequest()));
+    }
+
+    private static boolean isHashOnly(Map<?, ?> body) {
+        return body.get("query") == null
+                && body.get("extensions") instanceof Map<?, ?> extensions && extensions.get("persistedQuery") != null;
+    }
+}
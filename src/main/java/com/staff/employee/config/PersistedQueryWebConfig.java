@@ -0,0 +1,33 @@
+package com.staff.employee.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class PersistedQueryWebConfig implements WebMvcConfigurer {
+
+    private final ObjectMapper objectMapper;
+    private final String graphQlPath;
+    private final boolean enabled;
+
+    public PersistedQueryWebConfig(ObjectMapper objectMapper,
+                                   @Value("${spring.graphql.path:/graphql}") String graphQlPath,
+                                   @Value("${app.graphql.persisted-queries.enabled:true}") boolean enabled) {
+        this.objectMapper = objectMapper;
+        this.graphQlPath = graphQlPath;
+        this.enabled = enabled;
+    }
+
+    // Ahead of the default JSON converter, which would otherwise read the GraphQL request body
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        if (enabled) {
+            converters.add(0, new PersistedQueryBodyConverter(objectMapper, graphQlPath));
+        }
+    }
+}
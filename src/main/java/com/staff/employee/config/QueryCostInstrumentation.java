@@ -0,0 +1,171 @@
+package com.staff.employee.config;
+
+import graphql.ErrorClassification;
+import graphql.ExecutionResult;
+import graphql.GraphQLError;
+import graphql.GraphqlErrorBuilder;
+import graphql.execution.AbortExecutionException;
+import graphql.execution.ExecutionContext;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.normalized.ExecutableNormalizedField;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.GraphQLTypeUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Static cost analysis and admission control, run after validation and before any data fetcher.
+ * <p>
+ * Every selected field costs 1, and everything selected below a list is multiplied by its expected length:
+ * the {@code size}/{@code first} argument of the paging field above it, the number of {@code ids}, or
+ * {@code default-list-size}. Aliases are separate fields, so they are paid for separately. Operations over
+ * the caller's role budget or deeper than {@code max-depth} are rejected. Admitted operations then take
+ * their cost from a shared capacity and wait up to {@code queue-timeout-ms} for it, so a burst of expensive
+ * dashboards queues instead of starving cheap requests.
+ */
+@Component
+@Slf4j
+public class QueryCostInstrumentation extends SimplePerformantInstrumentation {
+
+    private static final List<String> PAGE_ARGUMENTS = List.of("size", "first");
+
+    private final Map<String, Long> budgets;
+    private final long defaultBudget;
+    private final int maxDepth;
+    private final int defaultListSize;
+    private final int capacity;
+    private final long queueTimeoutMs;
+    private final Semaphore admission;
+    private final DistributionSummary costSummary;
+    private final MeterRegistry meterRegistry;
+
+    public QueryCostInstrumentation(MeterRegistry meterRegistry,
+                                    @Value("#{${app.graphql.cost.budgets:{ADMIN: 100000, EMPLOYEE: 20000}}}") Map<String, Long> budgets,
+                                    @Value("${app.graphql.cost.default-budget:1000}") long defaultBudget,
+                                    @Value("${app.graphql.cost.max-depth:10}") int maxDepth,
+                                    @Value("${app.graphql.cost.default-list-size:10}") int defaultListSize,
+                                    @Value("${app.graphql.admission.capacity:200000}") int capacity,
+                                    @Value("${app.graphql.admission.queue-timeout-ms:500}") long queueTimeoutMs) {
+        this.budgets = budgets;
+        this.defaultBudget = defaultBudget;
+        this.maxDepth = maxDepth;
+        this.defaultListSize = defaultListSize;
+        this.capacity = capacity;
+        this.queueTimeoutMs = queueTimeoutMs;
+        this.admission = new Semaphore(capacity, true);
+        this.meterRegistry = meterRegistry;
+        this.costSummary = DistributionSummary.builder("graphql.operation.cost")
+                .description("Static cost of admitted and rejected GraphQL operations")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("graphql.admission.in-flight-cost", admission, s -> capacity - s.availablePermits())
+                .description("Cost of GraphQL operations currently executing")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(InstrumentationExecuteOperationParameters parameters,
+                                                                         InstrumentationState state) {
+        ExecutionContext context = parameters.getExecutionContext();
+        GraphQLSchema schema = context.getGraphQLSchema();
+        long cost = 0;
+        int depth = 0;
+        for (ExecutableNormalizedField field : context.getNormalizedQueryTree().get().getTopLevelFields()) {
+            cost += cost(field, schema, 0);
+            depth = Math.max(depth, depth(field));
+        }
+        costSummary.record(cost);
+
+        if (depth > maxDepth) {
+            throw reject("depth", "Query depth " + depth + " exceeds the limit of " + maxDepth, cost, maxDepth);
+        }
+        long budget = budget();
+        if (cost > budget) {
+            throw reject("budget", "Query cost " + cost + " exceeds the budget of " + budget, cost, budget);
+        }
+        // An operation costlier than the whole capacity still gets in, alone
+        int permits = (int) Math.min(cost, capacity);
+        try {
+            if (!admission.tryAcquire(permits, queueTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw reject("busy", "Server is busy, retry later", cost, budget);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw reject("busy", "Server is busy, retry later", cost, budget);
+        }
+        return SimpleInstrumentationContext.whenCompleted((result, t) -> admission.release(permits));
+    }
+
+    // 1 for the field itself, plus its selections times the length of the list it returns. pageSize is the
+    // size/first requested by the paging field above, 0 if none; the first list below it consumes it
+    private long cost(ExecutableNormalizedField field, GraphQLSchema schema, long pageSize) {
+        Map<String, Object> args = field.getResolvedArguments();
+        for (String name : PAGE_ARGUMENTS) {
+            if (args.get(name) instanceof Number n) pageSize = Math.max(1, n.longValue());
+        }
+        if (args.get("ids") instanceof Collection<?> ids) pageSize = Math.max(1, ids.size());
+
+        boolean isList = GraphQLTypeUtil.isList(GraphQLTypeUtil.unwrapNonNull(field.getType(schema)));
+        long children = 0;
+        for (ExecutableNormalizedField child : field.getChildren()) {
+            children += cost(child, schema, isList ? 0 : pageSize);
+        }
+        if (isList) {
+            children *= pageSize > 0 ? pageSize : defaultListSize;
+        }
+        return 1 + children;
+    }
+
+    private static int depth(ExecutableNormalizedField field) {
+        int max = field.getLevel();
+        for (ExecutableNormalizedField child : field.getChildren()) {
+            max = Math.max(max, depth(child));
+        }
+        return max;
+    }
+
+    // Largest budget among the caller's roles
+    private long budget() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        long budget = defaultBudget;
+        if (auth != null) {
+            for (GrantedAuthority authority : auth.getAuthorities()) {
+                String role = authority.getAuthority().startsWith("ROLE_") ? authority.getAuthority().substring(5) : authority.getAuthority();
+                budget = Math.max(budget, budgets.getOrDefault(role, defaultBudget));
+            }
+        }
+        return budget;
+    }
+
+    private AbortExecutionException reject(String reason, String message, long cost, long limit) {
+        Counter.builder("graphql.operation.rejected").tag("reason", reason)
+                .description("GraphQL operations refused by cost analysis or admission control")
+                .register(meterRegistry)
+                .increment();
+        log.debug("Rejected GraphQL operation ({}): {}", reason, message);
+        GraphQLError error = GraphqlErrorBuilder.newError()
+                .message(message)
+                .errorType(ErrorClassification.errorClassification("QUERY_TOO_EXPENSIVE"))
+                .extensions(Map.of("cost", cost, "limit", limit, "reason", reason))
+                .build();
+        return new AbortExecutionException(List.of(error));
+    }
+}
@@ -0,0 +1,261 @@
+package com.staff.employee.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends connections for read-only transactions to a replica and everything else to the primary. Sits behind a
+ * {@code LazyConnectionDataSourceProxy}, so the transaction's read-only flag is known by the time a connection
+ * is actually fetched.
+ * <ul>
+ *   <li>Replication lag is measured from a heartbeat row the primary rewrites every heartbeat interval. A replica
+ *   whose copy of that row is more than {@code maxLagMs} old, or that cannot be probed, gets no reads.</li>
+ *   <li>Among the remaining replicas one is picked round-robin or by fewest busy connections. With none left the
+ *   primary serves the read.</li>
+ *   <li>After a user's write commits, that user's reads stay on the primary for {@code maxLagMs} plus one
+ *   heartbeat interval, by which time every replica within budget has the write. {@link ConsistentReads} apply
+ *   the same window to the last write of anyone.</li>
+ * </ul>
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    public enum Strategy {
+        ROUND_ROBIN,
+        LEAST_BUSY
+    }
+
+    private final HikariDataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final Strategy strategy;
+    private final long maxLagMs;
+    private final long windowMs;
+    // Users whose last committed write is younger than the window
+    private final Cache<String, Boolean> recentWriters;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService heartbeat;
+    private final Counter stickyReads;
+    private final Counter consistentReads;
+    private final Counter fallbackReads;
+    // Starts out as a write: replicas may still lag behind whatever happened before this process started
+    private volatile long lastWriteMillis = System.currentTimeMillis();
+
+    public ReplicaRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicas, Strategy strategy,
+                                    long maxLagMs, long heartbeatIntervalMs, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.strategy = strategy;
+        this.maxLagMs = maxLagMs;
+        this.windowMs = maxLagMs + heartbeatIntervalMs;
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(windowMs))
+                .maximumSize(100_000)
+                .build();
+        for (HikariDataSource dataSource : replicas) {
+            Replica replica = new Replica(dataSource.getPoolName(), dataSource,
+                    readCounter(meterRegistry, dataSource.getPoolName(), "replica"));
+            Gauge.builder("datasource.replica.lag", replica, r -> r.lagMs == Long.MAX_VALUE ? Double.NaN : r.lagMs)
+                    .description("Age of the replica's copy of the primary heartbeat; NaN when it cannot be probed")
+                    .baseUnit("milliseconds")
+                    .tag("replica", replica.name)
+                    .register(meterRegistry);
+            this.replicas.add(replica);
+        }
+        this.stickyReads = readCounter(meterRegistry, "primary", "read-your-writes");
+        this.consistentReads = readCounter(meterRegistry, "primary", "consistent");
+        this.fallbackReads = readCounter(meterRegistry, "primary", "no-replica");
+
+        createHeartbeatTable();
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "replica-heartbeat");
+            t.setDaemon(true);
+            return t;
+        });
+        heartbeat.scheduleWithFixedDelay(this::beatAndProbe, 0, heartbeatIntervalMs, TimeUnit.MILLISECONDS);
+        log.info("Routing read-only transactions to {} replica(s) ({}, lag budget {} ms)", replicas.size(), strategy, maxLagMs);
+    }
+
+    private static Counter readCounter(MeterRegistry meterRegistry, String target, String reason) {
+        return Counter.builder("datasource.reads")
+                .description("Connections fetched for read-only transactions, by where they went and why")
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    public HikariDataSource primary() {
+        return primary;
+    }
+
+    public List<HikariDataSource> replicas() {
+        return replicas.stream().map(r -> r.dataSource).toList();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return target().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return target().getConnection(username, password);
+    }
+
+    private DataSource target() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            recordWriteOnCommit();
+            return primary;
+        }
+        if (ConsistentReads.required() && System.currentTimeMillis() - lastWriteMillis < windowMs) {
+            consistentReads.increment();
+            return primary;
+        }
+        String user = currentUser();
+        if (user != null && recentWriters.getIfPresent(user) != null) {
+            stickyReads.increment();
+            return primary;
+        }
+        Replica replica = select();
+        if (replica == null) {
+            fallbackReads.increment();
+            return primary;
+        }
+        replica.reads.increment();
+        return replica.dataSource;
+    }
+
+    private Replica select() {
+        List<Replica> candidates = replicas.stream().filter(r -> r.lagMs <= maxLagMs).toList();
+        if (candidates.isEmpty()) {
+            return null;
+        }
+        if (strategy == Strategy.LEAST_BUSY) {
+            return candidates.stream().min(Comparator.comparingInt(Replica::busy)).orElseThrow();
+        }
+        return candidates.get(Math.floorMod(next.getAndIncrement(), candidates.size()));
+    }
+
+    private void recordWriteOnCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        String user = currentUser();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                lastWriteMillis = System.currentTimeMillis();
+                if (user != null) {
+                    recentWriters.put(user, Boolean.TRUE);
+                }
+            }
+        });
+    }
+
+    private static String currentUser() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth == null || auth instanceof AnonymousAuthenticationToken ? null : auth.getName();
+    }
+
+    private void createHeartbeatTable() {
+        try (Connection con = primary.getConnection(); Statement st = con.createStatement()) {
+            st.execute("create table if not exists replication_heartbeat (id int primary key, beat_millis bigint not null)");
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Cannot create the replication heartbeat table on the primary", ex);
+        }
+    }
+
+    private void beatAndProbe() {
+        long now = System.currentTimeMillis();
+        try (Connection con = primary.getConnection();
+             PreparedStatement update = con.prepareStatement("update replication_heartbeat set beat_millis = ? where id = 1")) {
+            update.setLong(1, now);
+            if (update.executeUpdate() == 0) {
+                try (PreparedStatement insert = con.prepareStatement("insert into replication_heartbeat (id, beat_millis) values (1, ?)")) {
+                    insert.setLong(1, now);
+                    insert.executeUpdate();
+                }
+            }
+        } catch (SQLException | RuntimeException ex) {
+            log.warn("Cannot write the replication heartbeat: {}", ex.getMessage());
+        }
+        for (Replica replica : replicas) {
+            replica.update(probe(replica), maxLagMs);
+        }
+    }
+
+    private static long probe(Replica replica) {
+        try (Connection con = replica.dataSource.getConnection();
+             Statement st = con.createStatement();
+             ResultSet rs = st.executeQuery("select beat_millis from replication_heartbeat where id = 1")) {
+            return rs.next() ? Math.max(0, System.currentTimeMillis() - rs.getLong(1)) : Long.MAX_VALUE;
+        } catch (SQLException | RuntimeException ex) {
+            log.debug("Cannot probe replica {}: {}", replica.name, ex.getMessage());
+            return Long.MAX_VALUE;
+        }
+    }
+
+    @Override
+    public void close() {
+        heartbeat.shutdownNow();
+        replicas.forEach(r -> r.dataSource.close());
+        primary.close();
+    }
+
+    private static final class Replica {
+
+        final String name;
+        final HikariDataSource dataSource;
+        final Counter reads;
+        volatile long lagMs = Long.MAX_VALUE;
+
+        Replica(String name, HikariDataSource dataSource, Counter reads) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.reads = reads;
+        }
+
+        int busy() {
+            HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+            return pool == null ? 0 : pool.getActiveConnections() + pool.getThreadsAwaitingConnection();
+        }
+
+        // Logs only transitions, so a lagging replica does not flood the log
+        void update(long lag, long maxLagMs) {
+            boolean wasUsable = lagMs <= maxLagMs;
+            lagMs = lag;
+            if (wasUsable && lag == Long.MAX_VALUE) {
+                log.warn("Replica {} cannot be probed, reads go elsewhere", name);
+            } else if (wasUsable && lag > maxLagMs) {
+                log.warn("Replica {} is {} ms behind, reads go elsewhere", name, lag);
+            } else if (!wasUsable && lag <= maxLagMs) {
+                log.info("Replica {} is within the lag budget ({} ms), serving reads", name, lag);
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.staff.employee.config;
+
+import graphql.GraphQLContext;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts the SQL statements Hibernate prepares on behalf of a GraphQL request. Registered through
+ * {@code hibernate.session_factory.statement_inspector}. The request's counter lives in its
+ * {@link GraphQLContext}; code that runs for the request (data fetchers, DataLoader batches) opens a
+ * {@link Scope} around its work, so the thread is back to its previous state however the request completes.
+ * Statements outside a scope are not counted.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<AtomicInteger> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Creates the request's counter and stores it in {@code context}.
+     */
+    public static AtomicInteger start(GraphQLContext context) {
+        AtomicInteger counter = new AtomicInteger();
+        context.put(SqlStatementCounter.class, counter);
+        return counter;
+    }
+
+    /**
+     * The counter of the request {@code context} belongs to, or null when it is not being counted.
+     */
+    public static AtomicInteger of(GraphQLContext context) {
+        return context == null ? null : context.get(SqlStatementCounter.class);
+    }
+
+    /**
+     * Counts this thread's statements into {@code counter} until the scope is closed; a null counter counts
+     * nothing.
+     */
+    public static Scope countInto(AtomicInteger counter) {
+        AtomicInteger previous = CURRENT.get();
+        CURRENT.set(counter);
+        return () -> {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    @Override
+    public String inspect(String sql) {
+        AtomicInteger counter = CURRENT.get();
+        if (counter != null) {
+            counter.incrementAndGet();
+        }
+        return sql;
+    }
+
+    public interface Scope extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,230 @@
+package com.staff.employee.config;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.ExecutionResultImpl;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationCreateStateParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationValidationParameters;
+import graphql.language.Document;
+import graphql.language.OperationDefinition;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.GraphQLObjectType;
+import graphql.validation.ValidationError;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.dataloader.DataLoaderRegistry;
+import org.dataloader.stats.Statistics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongConsumer;
+
+/**
+ * Where the time goes inside a GraphQL request. Always on, and cheap:
+ * <ul>
+ *   <li>{@code graphql.phase{phase=parse|validate}}: parsing and validation; skipped for cached documents</li>
+ *   <li>{@code graphql.operation{type,operation}}: execution time per operation</li>
+ *   <li>{@code graphql.field{parent,field}}: per-field resolver time, non-trivial fetchers only; async results are
+ *   timed until their future completes</li>
+ *   <li>{@code graphql.request.sql} and {@code graphql.request.dataloader.batches}: SQL statements and DataLoader
+ *   batches per request</li>
+ * </ul>
+ * A request that sends {@code "extensions": {"trace": true}} is traced with probability {@code sample-rate}: the
+ * response then carries per-field timings, SQL and DataLoader counts under {@code extensions.trace}. Untraced
+ * requests pay only for the metrics above.
+ */
+@Component
+public class TracingInstrumentation extends SimplePerformantInstrumentation {
+
+    private final MeterRegistry meterRegistry;
+    private final boolean fieldMetrics;
+    private final double sampleRate;
+    private final int maxTracedFields;
+    private final Timer parseTimer;
+    private final Timer validateTimer;
+    private final DistributionSummary sqlPerRequest;
+    private final DistributionSummary batchesPerRequest;
+    // Keyed by "Parent.field"; bounded by the schema
+    private final Map<String, Timer> fieldTimers = new ConcurrentHashMap<>();
+
+    public TracingInstrumentation(MeterRegistry meterRegistry,
+                                  @Value("${app.graphql.tracing.field-metrics:true}") boolean fieldMetrics,
+                                  @Value("${app.graphql.tracing.sample-rate:1.0}") double sampleRate,
+                                  @Value("${app.graphql.tracing.max-fields:500}") int maxTracedFields) {
+        this.meterRegistry = meterRegistry;
+        this.fieldMetrics = fieldMetrics;
+        this.sampleRate = sampleRate;
+        this.maxTracedFields = maxTracedFields;
+        this.parseTimer = Timer.builder("graphql.phase").tag("phase", "parse").register(meterRegistry);
+        this.validateTimer = Timer.builder("graphql.phase").tag("phase", "validate").register(meterRegistry);
+        this.sqlPerRequest = DistributionSummary.builder("graphql.request.sql")
+                .description("SQL statements executed per GraphQL request").register(meterRegistry);
+        this.batchesPerRequest = DistributionSummary.builder("graphql.request.dataloader.batches")
+                .description("DataLoader batch calls per GraphQL request").register(meterRegistry);
+    }
+
+    @Override
+    public InstrumentationState createState(InstrumentationCreateStateParameters parameters) {
+        Object trace = parameters.getExecutionInput().getExtensions().get("trace");
+        boolean sampled = Boolean.TRUE.equals(trace) && ThreadLocalRandom.current().nextDouble() < sampleRate;
+        return new RequestState(sampled, SqlStatementCounter.start(parameters.getExecutionInput().getGraphQLContext()));
+    }
+
+    @Override
+    public InstrumentationContext<Document> beginParse(InstrumentationExecutionParameters parameters, InstrumentationState state) {
+        return timed(parseTimer, nanos -> ((RequestState) state).parseNanos = nanos);
+    }
+
+    @Override
+    public InstrumentationContext<List<ValidationError>> beginValidation(InstrumentationValidationParameters parameters, InstrumentationState state) {
+        return timed(validateTimer, nanos -> ((RequestState) state).validateNanos = nanos);
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(InstrumentationExecuteOperationParameters parameters,
+                                                                         InstrumentationState state) {
+        OperationDefinition operation = parameters.getExecutionContext().getOperationDefinition();
+        // Operation names come from clients; the "operation" tag is capped by a MeterFilter in GraphQLConfig
+        Timer timer = Timer.builder("graphql.operation")
+                .tag("type", operation.getOperation().name().toLowerCase())
+                .tag("operation", operation.getName() == null ? "anonymous" : operation.getName())
+                .register(meterRegistry);
+        return timed(timer, nanos -> ((RequestState) state).executeNanos = nanos);
+    }
+
+    @Override
+    public DataFetcher<?> instrumentDataFetcher(DataFetcher<?> dataFetcher, InstrumentationFieldFetchParameters parameters,
+                                                InstrumentationState state) {
+        RequestState request = (RequestState) state;
+        if (parameters.isTrivialDataFetcher()) {
+            return dataFetcher;
+        }
+        if (!fieldMetrics && !request.sampled) {
+            return env -> {
+                try (SqlStatementCounter.Scope ignored = SqlStatementCounter.countInto(request.sqlStatements)) {
+                    return dataFetcher.get(env);
+                }
+            };
+        }
+        return env -> {
+            long start = System.nanoTime();
+            Object result;
+            try (SqlStatementCounter.Scope ignored = SqlStatementCounter.countInto(request.sqlStatements)) {
+                result = dataFetcher.get(env);
+            }
+            if (result instanceof CompletionStage<?> stage) {
+                return stage.whenComplete((value, error) -> recordField(env, request, start));
+            }
+            recordField(env, request, start);
+            return result;
+        };
+    }
+
+    @Override
+    public CompletableFuture<ExecutionResult> instrumentExecutionResult(ExecutionResult executionResult,
+                                                                        InstrumentationExecutionParameters parameters,
+                                                                        InstrumentationState state) {
+        RequestState request = (RequestState) state;
+        int sql = request.sqlStatements.get();
+        Statistics loaderStats = loaderStatistics(parameters.getExecutionInput());
+        sqlPerRequest.record(sql);
+        batchesPerRequest.record(loaderStats.getBatchInvokeCount());
+        if (!request.sampled) {
+            return CompletableFuture.completedFuture(executionResult);
+        }
+
+        Map<String, Object> trace = new LinkedHashMap<>();
+        trace.put("durationMs", millis(System.nanoTime() - request.startNanos));
+        trace.put("parseMs", millis(request.parseNanos));
+        trace.put("validateMs", millis(request.validateNanos));
+        trace.put("executeMs", millis(request.executeNanos));
+        trace.put("sqlStatements", sql);
+        trace.put("dataLoader", Map.of(
+                "loads", loaderStats.getLoadCount(),
+                "batches", loaderStats.getBatchInvokeCount(),
+                "batchedKeys", loaderStats.getBatchLoadCount(),
+                "cacheHits", loaderStats.getCacheHitCount()));
+        trace.put("fields", new ArrayList<>(request.fields));
+        trace.put("fieldsTruncated", request.fieldCount.get() > maxTracedFields);
+        return CompletableFuture.completedFuture(ExecutionResultImpl.newExecutionResult()
+                .from(executionResult)
+                .addExtension("trace", trace)
+                .build());
+    }
+
+    private void recordField(DataFetchingEnvironment env, RequestState request, long start) {
+        long nanos = System.nanoTime() - start;
+        String parent = env.getParentType() instanceof GraphQLObjectType type ? type.getName() : "Unknown";
+        String field = env.getField().getName();
+        if (fieldMetrics) {
+            fieldTimers.computeIfAbsent(parent + "." + field, k -> Timer.builder("graphql.field")
+                    .tag("parent", parent)
+                    .tag("field", field)
+                    .register(meterRegistry)).record(nanos, TimeUnit.NANOSECONDS);
+        }
+        if (request.sampled && request.fieldCount.incrementAndGet() <= maxTracedFields) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("path", env.getExecutionStepInfo().getPath().toString());
+            entry.put("field", parent + "." + field);
+            entry.put("startOffsetMs", millis(start - request.startNanos));
+            entry.put("durationMs", millis(nanos));
+            request.fields.add(entry);
+        }
+    }
+
+    private static Statistics loaderStatistics(ExecutionInput input) {
+        DataLoaderRegistry registry = input.getDataLoaderRegistry();
+        return registry == null ? new Statistics() : registry.getStatistics();
+    }
+
+    private static <T> InstrumentationContext<T> timed(Timer timer, LongConsumer onDone) {
+        long start = System.nanoTime();
+        return SimpleInstrumentationContext.whenCompleted((result, t) -> {
+            long nanos = System.nanoTime() - start;
+            timer.record(nanos, TimeUnit.NANOSECONDS);
+            onDone.accept(nanos);
+        });
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+
+    private static final class RequestState implements InstrumentationState {
+        private final boolean sampled;
+        private final long startNanos = System.nanoTime();
+        private final Queue<Map<String, Object>> fields = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger fieldCount = new AtomicInteger();
+        // Data fetchers count into it directly; DataLoader batches find it in the GraphQLContext
+        private final AtomicInteger sqlStatements;
+        private volatile long parseNanos;
+        private volatile long validateNanos;
+        private volatile long executeNanos;
+
+        RequestState(boolean sampled, AtomicInteger sqlStatements) {
+            this.sampled = sampled;
+            this.sqlStatements = sqlStatements;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.staff.employee.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Virtual-thread executors, looked up reflectively so the service still builds and runs on Java 17.
+ * Build with {@code -Pjava21} and run on a Java 21 JVM to get them.
+ */
+public final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    public static boolean available() {
+        return Runtime.version().feature() >= 21;
+    }
+
+    /**
+     * A thread-per-task executor whose virtual threads are named {@code prefix0}, {@code prefix1}, ...,
+     * or null when the running JVM has no virtual threads.
+     */
+    public static ExecutorService newExecutor(String prefix) {
+        if (!available()) {
+            return null;
+        }
+        try {
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, prefix, 0L);
+            ThreadFactory factory = (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+            return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                    .invoke(null, factory);
+        } catch (ReflectiveOperationException ex) {
+            return null;
+        }
+    }
+}
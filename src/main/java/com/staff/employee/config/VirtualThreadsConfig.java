@@ -0,0 +1,46 @@
+package com.staff.employee.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Virtual-thread execution mode ({@code app.virtual-threads.enabled=true}, Java 21 runtime): Tomcat runs each
+ * request on its own virtual thread, DataLoader batches follow through {@code app.dataloader.executor.virtual-threads},
+ * and the DataSource is wrapped in a {@link BoundedDataSource} so only as many threads as the pools have connections
+ * wait inside them. On an older JVM everything stays on platform threads and a warning is logged.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.virtual-threads.enabled", havingValue = "true")
+@Slf4j
+public class VirtualThreadsConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadRequestExecutor() {
+        ExecutorService executor = VirtualThreads.newExecutor("http-vt-");
+        if (executor == null) {
+            log.warn("app.virtual-threads.enabled is set but Java {} has no virtual threads; keeping Tomcat's thread pool",
+                    Runtime.version().feature());
+            return handler -> { };
+        }
+        log.info("Serving HTTP requests on virtual threads");
+        return handler -> handler.setExecutor(executor);
+    }
+
+    // Static: post-processors are created before regular beans
+    @Bean
+    public static BoundedDataSourcePostProcessor boundedDataSourcePostProcessor(
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${app.datasource.max-concurrent-borrowers:0}") int permits,
+            @Value("${spring.datasource.hikari.connection-timeout:30000}") long timeoutMs) {
+        return new BoundedDataSourcePostProcessor(meterRegistry, permits, timeoutMs, VirtualThreads.available());
+    }
+}
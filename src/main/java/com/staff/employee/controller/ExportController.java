@@ -0,0 +1,43 @@
+package com.staff.employee.controller;
+
+import com.staff.employee.dto.EmployeeFilter;
+import com.staff.employee.service.EmployeeExportService;
+import com.staff.employee.service.EmployeeExportService.Format;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+/**
+ * Full employee dump (ADMIN only, see SecurityConfig), optionally filtered with the same fields as the GraphQL
+ * EmployeeFilter, e.g. {@code /export/employees?format=csv&department=IT&skillsAny=Java&skillsAny=Go}.
+ * The response is written while the rows are read, so it has no Content-Length.
+ */
+@RestController
+@RequestMapping("/export")
+public class ExportController {
+
+    private final EmployeeExportService exportService;
+
+    public ExportController(EmployeeExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    @GetMapping("/employees")
+    public void exportEmployees(@ModelAttribute EmployeeFilter filter,
+                                @RequestParam(defaultValue = "ndjson") String format,
+                                HttpServletResponse response) throws IOException {
+        Format f = switch (format.toLowerCase()) {
+            case "ndjson" -> Format.NDJSON;
+            case "csv" -> Format.CSV;
+            default -> throw new IllegalArgumentException("Unsupported export format: " + format);
+        };
+        response.setContentType(f == Format.CSV ? "text/csv;charset=UTF-8" : "application/x-ndjson;charset=UTF-8");
+        response.setHeader("Content-Disposition", "attachment; filename=employees." + format.toLowerCase());
+        exportService.export(filter, f, response.getOutputStream());
+    }
+}
@@ -1,17 +1,30 @@
 package com.staff.employee.controller;
 
 import com.staff.employee.controller.resolver.EmployeeResolver;
+import com.staff.employee.dto.BulkInsertResult;
+import com.staff.employee.dto.DepartmentStats;
+import com.staff.employee.dto.EmployeeChange;
+import com.staff.employee.dto.EmployeeConnection;
 import com.staff.employee.dto.EmployeeFilter;
 import com.staff.employee.dto.EmployeeInput;
 import com.staff.employee.dto.EmployeePage;
+import com.staff.employee.dto.EmployeePatch;
+import com.staff.employee.dto.HistogramBucket;
+import com.staff.employee.dto.SkillStats;
+import com.staff.employee.dto.TotalsMode;
 import com.staff.employee.model.Employee;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.DataFetchingFieldSelectionSet;
 import org.dataloader.DataLoader;
 import org.springframework.graphql.data.method.annotation.Argument;
-import org.springframework.graphql.data.method.annotation.ContextValue;
 import org.springframework.graphql.data.method.annotation.MutationMapping;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.data.method.annotation.SchemaMapping;
+import org.springframework.graphql.data.method.annotation.SubscriptionMapping;
 import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Flux;
 
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 @Controller
@@ -24,28 +37,87 @@ public class GraphQlEmployeeController {
     }
 
     @QueryMapping
-    public EmployeePage listEmployees(@Argument EmployeeFilter filter, @Argument Integer page, @Argument Integer size, @Argument String sort) {
-        return resolver.listEmployees(filter, page, size, sort);
+    public EmployeePage listEmployees(@Argument EmployeeFilter filter, @Argument Integer page, @Argument Integer size, @Argument String sort,
+                                      @Argument TotalsMode totals, @Argument String ifNoneMatch,
+                                      DataFetchingFieldSelectionSet selectionSet, DataFetchingEnvironment env) {
+        DataLoader<Long, Employee> loader = env.getDataLoader("employeeDataLoader");
+        return resolver.listEmployees(filter, page, size, sort, totals, ifNoneMatch, selectionSet, loader);
     }
 
     @QueryMapping
-    public CompletableFuture<Employee> employee(@Argument Long id, @ContextValue(name = "dataLoaderRegistry") org.dataloader.DataLoaderRegistry registry) {
-        DataLoader<Long, Employee> loader = registry.getDataLoader("employeeDataLoader");
+    public EmployeeConnection employeesConnection(@Argument EmployeeFilter filter, @Argument Integer first, @Argument String after, @Argument String sort,
+                                                  DataFetchingEnvironment env) {
+        DataLoader<Long, Employee> loader = env.getDataLoader("employeeDataLoader");
+        return resolver.employeesConnection(filter, first, after, sort, loader);
+    }
+
+    @QueryMapping
+    public CompletableFuture<Employee> employee(@Argument Long id, DataFetchingEnvironment env) {
+        // Loaders are registered per request by DataLoaderWebInterceptor
+        DataLoader<Long, Employee> loader = env.getDataLoader("employeeDataLoader");
         return resolver.employee(id, loader);
     }
 
+    @QueryMapping
+    public CompletableFuture<List<Employee>> employees(@Argument List<Long> ids, DataFetchingEnvironment env) {
+        DataLoader<Long, Employee> loader = env.getDataLoader("employeeDataLoader");
+        return resolver.employees(ids, loader);
+    }
+
+    @SchemaMapping(typeName = "Employee", field = "skills")
+    public CompletableFuture<List<String>> skills(Employee employee, DataFetchingEnvironment env) {
+        DataLoader<Long, List<String>> loader = env.getDataLoader("skillsDataLoader");
+        return resolver.skills(employee, loader);
+    }
+
+    @QueryMapping
+    public List<DepartmentStats> departmentStats(@Argument EmployeeFilter filter) {
+        return resolver.departmentStats(filter);
+    }
+
+    @QueryMapping
+    public List<SkillStats> skillStats(@Argument EmployeeFilter filter) {
+        return resolver.skillStats(filter);
+    }
+
+    @QueryMapping
+    public List<HistogramBucket> ageHistogram(@Argument EmployeeFilter filter, @Argument Integer bucketSize) {
+        return resolver.ageHistogram(filter, bucketSize);
+    }
+
+    @QueryMapping
+    public List<HistogramBucket> attendanceHistogram(@Argument EmployeeFilter filter, @Argument Integer bucketSize) {
+        return resolver.attendanceHistogram(filter, bucketSize);
+    }
+
     @MutationMapping
     public Employee addEmployee(@Argument EmployeeInput input) {
         return resolver.addEmployee(input);
     }
 
+    @MutationMapping
+    public BulkInsertResult addEmployees(@Argument List<EmployeeInput> inputs) {
+        return resolver.addEmployees(inputs);
+    }
+
     @MutationMapping
     public Employee updateEmployee(@Argument Long id, @Argument EmployeeInput input) {
         return resolver.updateEmployee(id, input);
     }
 
+    @MutationMapping
+    public Employee patchEmployee(@Argument Long id, @Argument EmployeePatch patch) {
+        return resolver.patchEmployee(id, patch);
+    }
+
     @MutationMapping
     public Boolean deleteEmployee(@Argument Long id) {
         return resolver.deleteEmployee(id);
     }
+
+    @SubscriptionMapping
+    public Flux<EmployeeChange> employeeChanged(@Argument EmployeeFilter filter, DataFetchingEnvironment env) {
+        DataLoader<Long, List<String>> loader = env.getDataLoader("skillsDataLoader");
+        return resolver.employeeChanged(filter, loader);
+    }
 }
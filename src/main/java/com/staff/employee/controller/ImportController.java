@@ -0,0 +1,46 @@
+package com.staff.employee.controller;
+
+import com.staff.employee.dto.ImportSummary;
+import com.staff.employee.service.EmployeeImportService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Bulk employee import for HR syncs (ADMIN only, see SecurityConfig). The body is read as a stream, never
+ * buffered whole; rows are upserted by externalId.
+ */
+@RestController
+@RequestMapping("/import")
+@Slf4j
+public class ImportController {
+
+    private static final MediaType CSV = MediaType.parseMediaType("text/csv");
+
+    private final EmployeeImportService importService;
+
+    public ImportController(EmployeeImportService importService) {
+        this.importService = importService;
+    }
+
+    @PostMapping(value = "/employees", consumes = {"application/x-ndjson", "text/csv"})
+    public ImportSummary importEmployees(@RequestHeader("Content-Type") MediaType contentType, InputStream body) throws IOException {
+        Charset charset = contentType.getCharset() == null ? StandardCharsets.UTF_8 : contentType.getCharset();
+        try (Reader reader = new InputStreamReader(body, charset)) {
+            if (CSV.isCompatibleWith(contentType)) {
+                return importService.importCsv(reader);
+            }
+            return importService.importNdjson(reader);
+        }
+    }
+}
@@ -1,19 +1,40 @@
 package com.staff.employee.controller.resolver;
 
+import com.staff.employee.cache.EmployeePageCache;
+import com.staff.employee.cache.EmployeePageKey;
+import com.staff.employee.dto.BulkInsertResult;
+import com.staff.employee.dto.DepartmentStats;
+import com.staff.employee.dto.EmployeeChange;
+import com.staff.employee.dto.EmployeeConnection;
+import com.staff.employee.dto.EmployeeEdge;
 import com.staff.employee.dto.EmployeeFilter;
 import com.staff.employee.dto.EmployeeInput;
 import com.staff.employee.dto.EmployeePage;
+import com.staff.employee.dto.EmployeePatch;
+import com.staff.employee.dto.HistogramBucket;
+import com.staff.employee.dto.SkillStats;
+import com.staff.employee.dto.TotalsMode;
+import com.staff.employee.event.EmployeeChangeStream;
 import com.staff.employee.model.Employee;
 import com.staff.employee.service.EmployeeService;
+import com.staff.employee.service.EmployeeStatsService;
+import graphql.schema.DataFetchingFieldSelectionSet;
+import graphql.schema.SelectedField;
 import lombok.extern.slf4j.Slf4j;
 import org.dataloader.DataLoader;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.RequestBody;
+import reactor.core.publisher.Flux;
 
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 @Controller
 @Slf4j
@@ -21,17 +42,58 @@ import java.util.concurrent.CompletableFuture;
 public class EmployeeResolver {
 
     private final EmployeeService service;
+    private final EmployeePageCache pageCache;
+    private final EmployeeStatsService statsService;
+    private final EmployeeChangeStream changeStream;
+    private final int maxPageSize;
 
-    public EmployeeResolver(EmployeeService service) {
+    public EmployeeResolver(EmployeeService service, EmployeePageCache pageCache, EmployeeStatsService statsService,
+                            EmployeeChangeStream changeStream, @Value("${app.graphql.max-page-size:1000}") int maxPageSize) {
         this.service = service;
+        this.pageCache = pageCache;
+        this.statsService = statsService;
+        this.changeStream = changeStream;
+        this.maxPageSize = maxPageSize;
     }
 
     // Query: listEmployees
     @PreAuthorize("hasAnyRole('ADMIN','EMPLOYEE')")
-    public EmployeePage listEmployees(EmployeeFilter filter, Integer page, Integer size, String sort) {
+    public EmployeePage listEmployees(EmployeeFilter filter, Integer page, Integer size, String sort, TotalsMode totals,
+                                      String ifNoneMatch, DataFetchingFieldSelectionSet selectionSet,
+                                      DataLoader<Long, Employee> employeeDataLoader) {
         int p = page == null ? 0 : page;
         int s = size == null ? 10 : size;
-        return service.listEmployees(filter, p, s, sort);
+        checkPageSize("size", s);
+        TotalsMode mode = totals == null ? TotalsMode.EXACT : totals;
+        // The count query is often the expensive half; skip it unless a total is actually selected
+        if (!selectionSet.contains("totalElements") && !selectionSet.contains("totalPages")) {
+            mode = TotalsMode.NONE;
+        }
+        // Project only the columns the client asked for under content
+        List<String> fields = selectionSet.getFields("content/*").stream()
+                .map(SelectedField::getName)
+                .collect(Collectors.toList());
+        EmployeePageKey key = EmployeePageKey.of(filter, EmployeeService.parseSort(sort), p, s, mode,
+                EmployeeService.columnsFor(fields), currentRoles());
+        if (ifNoneMatch != null && ifNoneMatch.equals(pageCache.etag(key))) {
+            return EmployeePage.builder().etag(ifNoneMatch).notModified(true).build();
+        }
+        EmployeePage result = pageCache.get(key, () -> service.listEmployees(filter, p, s, sort, key.totals(), fields));
+        // Only fully populated rows may seed the loader, whose cache serves any later selection of the same id
+        if (EmployeeService.coversAllColumns(fields)) {
+            prime(employeeDataLoader, result.content());
+        }
+        return result;
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN','EMPLOYEE')")
+    public EmployeeConnection employeesConnection(EmployeeFilter filter, Integer first, String after, String sort,
+                                                  DataLoader<Long, Employee> employeeDataLoader) {
+        int f = first == null ? 10 : first;
+        checkPageSize("first", f);
+        EmployeeConnection result = service.employeesConnection(filter, f, after, sort);
+        prime(employeeDataLoader, result.edges().stream().map(EmployeeEdge::node).collect(Collectors.toList()));
+        return result;
     }
 
     @PreAuthorize("hasAnyRole('ADMIN','EMPLOYEE')")
@@ -40,18 +102,94 @@ public class EmployeeResolver {
         return employeeDataLoader.load(id);
     }
 
+    @PreAuthorize("hasAnyRole('ADMIN','EMPLOYEE')")
+    public CompletableFuture<List<Employee>> employees(List<Long> ids, DataLoader<Long, Employee> employeeDataLoader) {
+        checkPageSize("ids", ids.size());
+        // The loader splits large id lists into max-batch-size chunks, keeps the requested order with nulls
+        // for missing ids, and shares its cache with employee(id) fields in the same operation
+        return employeeDataLoader.loadMany(ids);
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN','EMPLOYEE')")
+    public CompletableFuture<List<String>> skills(Employee employee, DataLoader<Long, List<String>> skillsDataLoader) {
+        return skillsDataLoader.load(employee.getId());
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN','EMPLOYEE')")
+    public List<DepartmentStats> departmentStats(EmployeeFilter filter) {
+        return statsService.departmentStats(filter);
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN','EMPLOYEE')")
+    public List<SkillStats> skillStats(EmployeeFilter filter) {
+        return statsService.skillStats(filter);
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN','EMPLOYEE')")
+    public List<HistogramBucket> ageHistogram(EmployeeFilter filter, Integer bucketSize) {
+        return statsService.ageHistogram(filter, bucketSize == null ? 10 : bucketSize);
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN','EMPLOYEE')")
+    public List<HistogramBucket> attendanceHistogram(EmployeeFilter filter, Integer bucketSize) {
+        return statsService.attendanceHistogram(filter, bucketSize == null ? 10 : bucketSize);
+    }
+
     @PreAuthorize("hasRole('ADMIN')")
     public Employee addEmployee(@RequestBody EmployeeInput input) {
         return service.createEmployee(input);
     }
 
+    @PreAuthorize("hasRole('ADMIN')")
+    public BulkInsertResult addEmployees(List<EmployeeInput> inputs) {
+        return service.createEmployees(inputs);
+    }
+
     @PreAuthorize("hasRole('ADMIN')")
     public Employee updateEmployee(Long id, @RequestBody EmployeeInput input) {
         return service.updateEmployee(id, input);
     }
 
+    @PreAuthorize("hasRole('ADMIN')")
+    public Employee patchEmployee(Long id, EmployeePatch patch) {
+        return service.patchEmployee(id, patch);
+    }
+
     @PreAuthorize("hasRole('ADMIN')")
     public boolean deleteEmployee(Long id) {
         return service.deleteEmployee(id);
     }
+
+    // Subscription: employeeChanged
+    @PreAuthorize("hasAnyRole('ADMIN','EMPLOYEE')")
+    public Flux<EmployeeChange> employeeChanged(EmployeeFilter filter, DataLoader<Long, List<String>> skillsDataLoader) {
+        // One loader serves the whole subscription, so its cache must not answer with skills from an earlier event
+        return changeStream.changes(filter).doOnNext(change -> {
+            skillsDataLoader.clear(change.id());
+            if (change.employee() != null && change.employee().getSkills() != null && !change.employee().getSkills().isEmpty()) {
+                skillsDataLoader.prime(change.id(), change.employee().getSkills());
+            }
+        });
+    }
+
+    // Hard cap independent of the cost budget: one request must not be able to ask for the whole table
+    private void checkPageSize(String argument, int value) {
+        if (value > maxPageSize) {
+            throw new IllegalArgumentException(argument + " must not exceed " + maxPageSize);
+        }
+    }
+
+    private static List<String> currentRoles() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null) {
+            return List.of();
+        }
+        return auth.getAuthorities().stream().map(GrantedAuthority::getAuthority).collect(Collectors.toList());
+    }
+
+    private static void prime(DataLoader<Long, Employee> loader, List<Employee> employees) {
+        for (Employee e : employees) {
+            loader.prime(e.getId(), e);
+        }
+    }
 }
@@ -0,0 +1,120 @@
+package com.staff.employee.dataloader;
+
+import com.staff.employee.config.SqlStatementCounter;
+import com.staff.employee.config.VirtualThreads;
+import graphql.GraphQLContext;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.dataloader.BatchLoader;
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderFactory;
+import org.dataloader.DataLoaderOptions;
+import org.dataloader.stats.SimpleStatisticsCollector;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Shared plumbing for the per-request DataLoaders: a dedicated bounded executor (instead of the common
+ * ForkJoinPool), batch/caching options and batch metrics.
+ */
+@Component
+@Slf4j
+public class DataLoaderSupport {
+
+    private final ExecutorService executor;
+    private final MeterRegistry meterRegistry;
+    private final int maxBatchSize;
+    private final boolean cachingEnabled;
+
+    public DataLoaderSupport(MeterRegistry meterRegistry,
+                             @Value("${app.dataloader.executor.core-size:4}") int coreSize,
+                             @Value("${app.dataloader.executor.max-size:16}") int maxSize,
+                             @Value("${app.dataloader.executor.queue-capacity:1000}") int queueCapacity,
+                             @Value("${app.dataloader.executor.virtual-threads:false}") boolean virtualThreads,
+                             @Value("${app.dataloader.max-batch-size:500}") int maxBatchSize,
+                             @Value("${app.dataloader.caching-enabled:true}") boolean cachingEnabled) {
+        this.meterRegistry = meterRegistry;
+        this.maxBatchSize = maxBatchSize;
+        this.cachingEnabled = cachingEnabled;
+
+        ExecutorService delegate = virtualThreads ? newVirtualThreadExecutor() : null;
+        if (delegate == null) {
+            // Bounded queue; when it is full the dispatching request thread runs the batch itself
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(coreSize, maxSize, 60, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity), namedThreads("dataloader-"), new ThreadPoolExecutor.CallerRunsPolicy());
+            delegate = pool;
+        }
+        // Exposes executor.queued / executor.active / executor.completed tagged name=dataloader
+        ExecutorService monitored = ExecutorServiceMetrics.monitor(meterRegistry, delegate, "dataloader");
+        // Batches run with the security context and the propagated thread-locals of the request that dispatched them
+        ContextSnapshotFactory snapshots = ContextSnapshotFactory.builder().build();
+        this.executor = new DelegatingSecurityContextExecutorService(ContextExecutorService.wrap(monitored, () -> snapshots.captureAll()));
+    }
+
+    /**
+     * Creates a DataLoader whose batches run on the dedicated executor. Each batch runs in its own read-only
+     * transaction through the service layer, never in the caller's, and its SQL statements count towards the
+     * request {@code context} belongs to.
+     */
+    public <K, V> DataLoader<K, V> newDataLoader(String name, GraphQLContext context, Function<List<K>, List<V>> batchFunction) {
+        DistributionSummary batchSize = DistributionSummary.builder("dataloader.batch.size")
+                .tag("loader", name)
+                .register(meterRegistry);
+        Timer loadTime = Timer.builder("dataloader.batch.load")
+                .tag("loader", name)
+                .register(meterRegistry);
+        BatchLoader<K, V> loader = keys -> CompletableFuture.supplyAsync(() -> {
+            batchSize.record(keys.size());
+            // Looked up per batch: the counter is added to the context once execution starts
+            try (SqlStatementCounter.Scope ignored = SqlStatementCounter.countInto(SqlStatementCounter.of(context))) {
+                return loadTime.record(() -> batchFunction.apply(keys));
+            }
+        }, executor);
+        DataLoaderOptions options = DataLoaderOptions.newOptions()
+                .setMaxBatchSize(maxBatchSize)
+                .setCachingEnabled(cachingEnabled)
+                // Per-request load/batch/cache-hit counts, reported by TracingInstrumentation
+                .setStatisticsCollector(SimpleStatisticsCollector::new);
+        return DataLoaderFactory.newDataLoader(loader, options);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, prefix + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    private static ExecutorService newVirtualThreadExecutor() {
+        ExecutorService executor = VirtualThreads.newExecutor("dataloader-");
+        if (executor == null) {
+            log.warn("Virtual threads requested for DataLoader batches but not available on Java {}; using a thread pool",
+                    Runtime.version().feature());
+        }
+        return executor;
+    }
+}
@@ -0,0 +1,30 @@
+package com.staff.employee.dataloader;
+
+import com.staff.employee.service.EmployeeService;
+import graphql.GraphQLContext;
+import org.dataloader.DataLoader;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Component
+public class SkillsDataLoader {
+
+    private final EmployeeService service;
+    private final DataLoaderSupport support;
+
+    public SkillsDataLoader(EmployeeService service, DataLoaderSupport support) {
+        this.service = service;
+        this.support = support;
+    }
+
+    public DataLoader<Long, List<String>> getDataLoader(GraphQLContext context) {
+        // One employee_skills query per batch, however many employees are on the page
+        return support.newDataLoader("skills", context, (List<Long> idList) -> {
+            Map<Long, List<String>> skills = service.findSkillsByIds(idList);
+            return idList.stream().map(id -> skills.getOrDefault(id, List.of())).collect(Collectors.toList());
+        });
+    }
+}
@@ -0,0 +1,13 @@
+package com.staff.employee.dto;
+
+import lombok.Builder;
+
+/**
+ * Why the input at {@code index} of an {@code addEmployees} call was rejected.
+ */
+@Builder
+public record BulkInsertError(
+        int index,
+        String message
+) {
+}
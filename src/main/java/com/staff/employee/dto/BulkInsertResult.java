@@ -0,0 +1,17 @@
+package com.staff.employee.dto;
+
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * Outcome of {@code addEmployees}. {@code ids} lines up with the inputs, with null for rejected items;
+ * valid items are inserted even when others fail.
+ */
+@Builder
+public record BulkInsertResult(
+        int inserted,
+        List<Long> ids,
+        List<BulkInsertError> errors
+) {
+}
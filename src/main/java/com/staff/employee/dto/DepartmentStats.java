@@ -0,0 +1,16 @@
+package com.staff.employee.dto;
+
+import lombok.Builder;
+
+/**
+ * Aggregates for one department (null for employees without one). Averages skip null values and are null
+ * when no employee has a value.
+ */
+@Builder
+public record DepartmentStats(
+        String department,
+        long headcount,
+        Double averageAge,
+        Double averageAttendance
+) {
+}
@@ -0,0 +1,21 @@
+package com.staff.employee.dto;
+
+import com.staff.employee.event.EmployeeChangedEvent.ChangeType;
+import com.staff.employee.model.Employee;
+import lombok.Builder;
+
+/**
+ * One employeeChanged subscription event.
+ *
+ * @param employee the employee as written; null for {@link ChangeType#DELETED}
+ * @param missed   events dropped for this subscriber since the previous one it received, because it was not
+ *                 keeping up; when non-zero the client should refetch what it shows
+ */
+@Builder
+public record EmployeeChange(
+        ChangeType type,
+        Long id,
+        Employee employee,
+        int missed
+) {
+}
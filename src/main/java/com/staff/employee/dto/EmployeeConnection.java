@@ -0,0 +1,12 @@
+package com.staff.employee.dto;
+
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record EmployeeConnection(
+        List<EmployeeEdge> edges,
+        PageInfo pageInfo
+) {
+}
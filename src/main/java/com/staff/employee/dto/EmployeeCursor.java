@@ -0,0 +1,38 @@
+package com.staff.employee.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of a row in a keyset (seek) scan: the sort property, its value for that row and the row id
+ * used as tie-breaker. Clients only ever see the opaque {@link #encode()} form.
+ */
+public record EmployeeCursor(
+        String property,
+        String value,
+        Long id
+) {
+
+    private static final String SEPARATOR = "\n";
+
+    public String encode() {
+        // "=" marks a present value so that a null sort key and an empty string stay distinguishable
+        String raw = property + SEPARATOR + id + SEPARATOR + (value == null ? "" : "=" + value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static EmployeeCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(SEPARATOR, 3);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            String value = parts[2].isEmpty() ? null : parts[2].substring(1);
+            return new EmployeeCursor(parts[0], value, Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException ex) {
+            // covers malformed Base64 and NumberFormatException
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+}
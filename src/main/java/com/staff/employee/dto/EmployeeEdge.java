@@ -0,0 +1,9 @@
+package com.staff.employee.dto;
+
+import com.staff.employee.model.Employee;
+
+public record EmployeeEdge(
+        String cursor,
+        Employee node
+) {
+}
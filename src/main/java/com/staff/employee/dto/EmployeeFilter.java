@@ -2,11 +2,32 @@ package com.staff.employee.dto;
 
 import lombok.Builder;
 
+import java.util.List;
+
+/**
+ * @param skillsAny employees having at least one of these skills
+ * @param skillsAll employees having every one of these skills
+ */
 @Builder
 public record EmployeeFilter(
         String nameContains,
         Integer minAge,
         Integer maxAge,
-        String department
+        String department,
+        List<String> skillsAny,
+        List<String> skillsAll
 ) {
+
+    /**
+     * Whether {@code filter} matches every employee.
+     */
+    public static boolean isEmpty(EmployeeFilter filter) {
+        return filter == null
+                || (isBlank(filter.nameContains) && filter.minAge == null && filter.maxAge == null && isBlank(filter.department)
+                && (filter.skillsAny == null || filter.skillsAny.isEmpty()) && (filter.skillsAll == null || filter.skillsAll.isEmpty()));
+    }
+
+    private static boolean isBlank(String s) {
+        return s == null || s.isBlank();
+    }
 }
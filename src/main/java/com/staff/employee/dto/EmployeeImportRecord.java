@@ -0,0 +1,30 @@
+package com.staff.employee.dto;
+
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * One line of an employee import file, NDJSON object or CSV row. {@code externalId} is required and is
+ * the upsert key; the remaining fields are validated as an {@link EmployeeInput}.
+ */
+@Builder
+public record EmployeeImportRecord(
+        String externalId,
+        String name,
+        Integer age,
+        String department,
+        List<String> skills,
+        Integer attendance
+) {
+
+    public EmployeeInput toInput() {
+        return EmployeeInput.builder()
+                .name(name)
+                .age(age)
+                .department(department)
+                .skills(skills)
+                .attendance(attendance)
+                .build();
+    }
+}
@@ -5,10 +5,18 @@ import lombok.Builder;
 
 import java.util.List;
 
+/**
+ * A page of employees. The totals are null when they were not requested (see {@link TotalsMode#NONE}).
+ * When the client's {@code ifNoneMatch} still matches {@code etag} only the tag is returned and
+ * {@code notModified} is set.
+ */
 @Builder
 public record EmployeePage(
         List<Employee> content,
-        long totalElements,
-        int totalPages
+        Long totalElements,
+        Integer totalPages,
+        boolean hasNext,
+        String etag,
+        boolean notModified
 ) {
 }
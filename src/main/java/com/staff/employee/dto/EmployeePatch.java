@@ -0,0 +1,29 @@
+package com.staff.employee.dto;
+
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * Partial update of an employee: null fields keep their current value, so a patch cannot clear a column.
+ *
+ * @param skills          replaces the whole skill list when not null
+ * @param expectedVersion when set, the patch only applies while the employee is still at this version
+ */
+@Builder
+public record EmployeePatch(
+        String name,
+        Integer age,
+        String department,
+        List<String> skills,
+        Integer attendance,
+        Long expectedVersion
+) {
+
+    /**
+     * Whether the patch changes any scalar column of the employees table.
+     */
+    public boolean hasColumns() {
+        return name != null || age != null || department != null || attendance != null;
+    }
+}
@@ -0,0 +1,14 @@
+package com.staff.employee.dto;
+
+import lombok.Builder;
+
+/**
+ * Employees whose value lies in {@code [from, to)}.
+ */
+@Builder
+public record HistogramBucket(
+        int from,
+        int to,
+        long count
+) {
+}
@@ -0,0 +1,14 @@
+package com.staff.employee.dto;
+
+import lombok.Builder;
+
+/**
+ * A rejected import line. {@code line} is 1-based and counts the CSV header.
+ */
+@Builder
+public record ImportError(
+        long line,
+        String externalId,
+        String message
+) {
+}
@@ -0,0 +1,19 @@
+package com.staff.employee.dto;
+
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * Result of an employee import. Only the first errors are listed (see {@code app.import.max-reported-errors});
+ * {@code errorsTruncated} tells whether more lines were rejected than reported.
+ */
+@Builder
+public record ImportSummary(
+        long inserted,
+        long updated,
+        long rejected,
+        List<ImportError> errors,
+        boolean errorsTruncated
+) {
+}
@@ -0,0 +1,12 @@
+package com.staff.employee.dto;
+
+import lombok.Builder;
+
+@Builder
+public record PageInfo(
+        boolean hasNextPage,
+        boolean hasPreviousPage,
+        String startCursor,
+        String endCursor
+) {
+}
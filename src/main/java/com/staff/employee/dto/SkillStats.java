@@ -0,0 +1,13 @@
+package com.staff.employee.dto;
+
+import lombok.Builder;
+
+/**
+ * Number of employees having {@code skill}.
+ */
+@Builder
+public record SkillStats(
+        String skill,
+        long headcount
+) {
+}
@@ -0,0 +1,13 @@
+package com.staff.employee.dto;
+
+/**
+ * How {@code listEmployees} computes {@code totalElements}/{@code totalPages}.
+ */
+public enum TotalsMode {
+    /** Run an exact count query alongside the page query. */
+    EXACT,
+    /** Reuse a per-filter count that is refreshed periodically; may lag behind recent writes. */
+    CACHED,
+    /** Skip the count entirely. Chosen by the resolver when no total is selected. */
+    NONE
+}
@@ -0,0 +1,142 @@
+package com.staff.employee.event;
+
+import com.staff.employee.dto.EmployeeChange;
+import com.staff.employee.dto.EmployeeFilter;
+import com.staff.employee.index.SkillIndex;
+import com.staff.employee.model.EmployeeSnapshot;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Committed employee changes as a hot stream for the employeeChanged subscription. Every subscriber gets its
+ * own filter and its own bounded buffer: the committing thread only filters and enqueues, and a subscriber
+ * whose buffer is full loses its oldest undelivered events rather than slowing down writers or other
+ * subscribers. How many it lost is reported on the next event it receives.
+ */
+@Component
+@Slf4j
+public class EmployeeChangeStream {
+
+    // Best effort: a subscriber without demand is skipped, but each one requests unbounded from its own buffer
+    private final Sinks.Many<EmployeeChangedEvent> sink = Sinks.many().multicast().directBestEffort();
+    private final SkillIndex skillIndex;
+    private final int bufferSize;
+    private final Counter dropped;
+
+    public EmployeeChangeStream(SkillIndex skillIndex, MeterRegistry meterRegistry,
+                                @Value("${app.graphql.subscriptions.buffer-size:256}") int bufferSize) {
+        this.skillIndex = skillIndex;
+        this.bufferSize = bufferSize;
+        this.dropped = Counter.builder("graphql.subscriptions.dropped")
+                .description("employeeChanged events dropped for subscribers that fell a full buffer behind")
+                .register(meterRegistry);
+        Gauge.builder("graphql.subscriptions.active", sink, Sinks.Many::currentSubscriberCount)
+                .description("Open employeeChanged subscriptions")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        if (sink.currentSubscriberCount() == 0) {
+            return;
+        }
+        // The sink must not be entered from two committing threads at once
+        synchronized (sink) {
+            Sinks.EmitResult result = sink.tryEmitNext(event);
+            if (result.isFailure() && result != Sinks.EmitResult.FAIL_ZERO_SUBSCRIBER) {
+                log.warn("Employee change {} {} not published to subscribers: {}", event.type(), event.id(), result);
+            }
+        }
+    }
+
+    /**
+     * Changes relevant to {@code filter} from now on: employees entering, changing within, or leaving the
+     * filtered set. Deletes carry no employee data and go to every subscriber.
+     */
+    public Flux<EmployeeChange> changes(EmployeeFilter filter) {
+        return Flux.defer(() -> {
+            AtomicInteger missed = new AtomicInteger();
+            return sink.asFlux()
+                    .filter(event -> concerns(filter, event))
+                    .onBackpressureBuffer(bufferSize, event -> {
+                        missed.incrementAndGet();
+                        dropped.increment();
+                    }, BufferOverflowStrategy.DROP_OLDEST)
+                    // Executing the subscription's selection for each event happens off the committing thread
+                    .publishOn(Schedulers.boundedElastic(), 1)
+                    .map(event -> EmployeeChange.builder()
+                            .type(event.type())
+                            .id(event.id())
+                            .employee(event.after() == null ? null : event.after().toEmployee())
+                            .missed(missed.getAndSet(0))
+                            .build());
+        });
+    }
+
+    private boolean concerns(EmployeeFilter filter, EmployeeChangedEvent event) {
+        if (EmployeeFilter.isEmpty(filter)) {
+            return true;
+        }
+        return switch (event.type()) {
+            case CREATED -> matches(filter, event.id(), event.after());
+            // Unknown previous state: it may have been in the set
+            case UPDATED -> event.before() == null || matches(filter, event.id(), event.before())
+                    || matches(filter, event.id(), event.after());
+            case DELETED -> true;
+        };
+    }
+
+    // Same semantics as EmployeeService.buildSpec; skills a snapshot lacks did not change, so the index has them
+    private boolean matches(EmployeeFilter filter, long id, EmployeeSnapshot e) {
+        if (e == null) {
+            return false;
+        }
+        if (hasText(filter.nameContains())
+                && (e.name() == null || !e.name().toLowerCase(Locale.ROOT).contains(filter.nameContains().toLowerCase(Locale.ROOT)))) {
+            return false;
+        }
+        if (filter.minAge() != null && (e.age() == null || e.age() < filter.minAge())) {
+            return false;
+        }
+        if (filter.maxAge() != null && (e.age() == null || e.age() > filter.maxAge())) {
+            return false;
+        }
+        if (hasText(filter.department()) && !filter.department().equals(e.department())) {
+            return false;
+        }
+        if (hasItems(filter.skillsAny()) && filter.skillsAny().stream().noneMatch(skill -> hasSkill(id, e, skill))) {
+            return false;
+        }
+        return !hasItems(filter.skillsAll()) || filter.skillsAll().stream().allMatch(skill -> hasSkill(id, e, skill));
+    }
+
+    private boolean hasSkill(long id, EmployeeSnapshot e, String skill) {
+        if (e.skills() != null) {
+            return e.skills().contains(skill);
+        }
+        Boolean indexed = skillIndex.has(id, skill);
+        // Without the index, deliver rather than risk a missed change
+        return indexed == null || indexed;
+    }
+
+    private static boolean hasText(String s) {
+        return s != null && !s.isBlank();
+    }
+
+    private static boolean hasItems(List<String> list) {
+        return list != null && !list.isEmpty();
+    }
+}
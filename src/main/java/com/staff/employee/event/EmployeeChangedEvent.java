@@ -0,0 +1,28 @@
+package com.staff.employee.event;
+
+import com.staff.employee.model.EmployeeSnapshot;
+
+/**
+ * Published by {@link com.staff.employee.service.EmployeeService} for every employee mutation. Listeners that
+ * keep derived state (caches, indexes) should use {@code @TransactionalEventListener} so they only observe
+ * committed changes.
+ *
+ * @param before the employee before the change, skills included; null only for {@link ChangeType#CREATED}.
+ *               Updates and deletes, single or imported, always carry it; listeners that derive state from it
+ *               should still treat a missing one as unknown and resynchronize
+ * @param after  the employee as written; null for {@link ChangeType#DELETED}. When neither snapshot has skills
+ *               (a patch that left them alone), the skills did not change
+ */
+public record EmployeeChangedEvent(
+        ChangeType type,
+        Long id,
+        EmployeeSnapshot before,
+        EmployeeSnapshot after
+) {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
@@ -3,7 +3,9 @@ package com.staff.employee.exception;
 import graphql.GraphQLError;
 import graphql.GraphqlErrorBuilder;
 import graphql.schema.DataFetchingEnvironment;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.graphql.execution.DataFetcherExceptionResolverAdapter;
+import org.springframework.graphql.execution.ErrorType;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
 
@@ -15,6 +17,12 @@ public class GraphQlExceptionHandler extends DataFetcherExceptionResolverAdapter
         if (ex instanceof NotFoundException) {
             return GraphqlErrorBuilder.newError().message(ex.getMessage()).build();
         }
+        if (ex instanceof OptimisticLockingFailureException) {
+            return GraphqlErrorBuilder.newError(env).errorType(ErrorType.BAD_REQUEST).message(ex.getMessage()).build();
+        }
+        if (ex instanceof IllegalArgumentException) {
+            return GraphqlErrorBuilder.newError(env).errorType(ErrorType.BAD_REQUEST).message(ex.getMessage()).build();
+        }
         return super.resolveToSingleError(ex, env);
     }
 }
@@ -0,0 +1,43 @@
+package com.staff.employee.exception;
+
+import graphql.GraphQLError;
+import graphql.GraphqlErrorBuilder;
+import org.springframework.graphql.execution.ErrorType;
+import org.springframework.graphql.execution.SubscriptionExceptionResolverAdapter;
+import org.springframework.lang.NonNull;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.AuthenticationTrustResolver;
+import org.springframework.security.authentication.AuthenticationTrustResolverImpl;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Errors raised by subscriptions, which bypass the data fetcher exception resolvers; classified as the same
+ * errors would be for queries.
+ */
+@Component
+public class GraphQlSubscriptionExceptionHandler extends SubscriptionExceptionResolverAdapter {
+
+    private final AuthenticationTrustResolver trustResolver = new AuthenticationTrustResolverImpl();
+
+    public GraphQlSubscriptionExceptionHandler() {
+        // The subscriber's SecurityContext, to tell anonymous from insufficient access
+        setThreadLocalContextAware(true);
+    }
+
+    @Override
+    protected GraphQLError resolveToSingleError(@NonNull Throwable ex) {
+        if (ex instanceof AuthenticationException
+                || (ex instanceof AccessDeniedException && trustResolver.isAnonymous(SecurityContextHolder.getContext().getAuthentication()))) {
+            return GraphqlErrorBuilder.newError().errorType(ErrorType.UNAUTHORIZED).message("Unauthorized").build();
+        }
+        if (ex instanceof AccessDeniedException) {
+            return GraphqlErrorBuilder.newError().errorType(ErrorType.FORBIDDEN).message("Forbidden").build();
+        }
+        if (ex instanceof IllegalArgumentException) {
+            return GraphqlErrorBuilder.newError().errorType(ErrorType.BAD_REQUEST).message(ex.getMessage()).build();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,158 @@
+package com.staff.employee.index;
+
+import com.staff.employee.config.ConsistentReads;
+import com.staff.employee.event.EmployeeChangedEvent;
+import com.staff.employee.repository.EmployeeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram index over lower-cased employee names, answering the {@code nameContains} filter without
+ * a {@code LIKE '%x%'} table scan. Posting lists are compressed id bitmaps; every candidate is verified against
+ * the stored name, so results are exact.
+ */
+@Component
+@Slf4j
+public class NameTrigramIndex {
+
+    private static final int LOAD_CHUNK = 10_000;
+
+    private final EmployeeRepository repository;
+    private final boolean enabled;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Roaring64NavigableMap> postings = new HashMap<>();
+    private final Map<Long, String> names = new HashMap<>();
+    private volatile boolean ready;
+
+    public NameTrigramIndex(EmployeeRepository repository, @Value("${app.index.names.enabled:true}") boolean enabled) {
+        this.repository = repository;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            names.clear();
+            // Events keep the index current from here on, so it must not start from a lagging replica
+            ConsistentReads.run(this::load);
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Name trigram index built: {} names, {} trigrams in {} ms", names.size(), postings.size(), System.currentTimeMillis() - start);
+    }
+
+    private void load() {
+        long after = 0;
+        List<Object[]> rows;
+        do {
+            rows = repository.findIdAndNameAfter(after, PageRequest.ofSize(LOAD_CHUNK));
+            for (Object[] row : rows) {
+                after = (Long) row[0];
+                add(after, (String) row[1]);
+            }
+        } while (rows.size() == LOAD_CHUNK);
+    }
+
+    /**
+     * Ids of all employees whose lower-cased name contains {@code fragment} (already lower-cased), or null when
+     * the index cannot answer: not built yet, the fragment is shorter than a trigram, or it contains a LIKE
+     * wildcard or escape character, which the SQL fallback does not match literally.
+     */
+    public Roaring64NavigableMap search(String fragment) {
+        if (!ready || fragment.length() < 3 || fragment.chars().anyMatch(c -> c == '%' || c == '_' || c == '\\')) {
+            return null;
+        }
+        lock.readLock().lock();
+        try {
+            Roaring64NavigableMap result = null;
+            for (int i = 0; i + 3 <= fragment.length(); i++) {
+                Roaring64NavigableMap posting = postings.get(trigram(fragment, i));
+                if (posting == null) {
+                    return new Roaring64NavigableMap();
+                }
+                if (result == null) {
+                    result = new Roaring64NavigableMap();
+                    result.or(posting);
+                } else {
+                    result.and(posting);
+                }
+                if (result.isEmpty()) {
+                    return result;
+                }
+            }
+            // Trigram hits are candidates only: "abcxbcd" contains every trigram of "abcd" but not "abcd" itself
+            Roaring64NavigableMap verified = new Roaring64NavigableMap();
+            result.forEach(id -> {
+                if (names.get(id).contains(fragment)) verified.addLong(id);
+            });
+            return verified;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        // Upserts and removals are idempotent, so replaying an event already covered by build() is harmless
+        lock.writeLock().lock();
+        try {
+            remove(event.id());
+            if (event.after() != null && event.after().name() != null) {
+                add(event.id(), event.after().name());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void add(long id, String name) {
+        String lower = name.toLowerCase(Locale.ROOT);
+        names.put(id, lower);
+        for (int i = 0; i + 3 <= lower.length(); i++) {
+            postings.computeIfAbsent(trigram(lower, i), k -> new Roaring64NavigableMap()).addLong(id);
+        }
+    }
+
+    private void remove(long id) {
+        String lower = names.remove(id);
+        if (lower == null) {
+            return;
+        }
+        for (int i = 0; i + 3 <= lower.length(); i++) {
+            long key = trigram(lower, i);
+            Roaring64NavigableMap posting = postings.get(key);
+            if (posting != null) {
+                posting.removeLong(id);
+                if (posting.isEmpty()) postings.remove(key);
+            }
+        }
+    }
+
+    // Three UTF-16 chars packed into one long avoids a String allocation per trigram
+    private static long trigram(String s, int i) {
+        return ((long) s.charAt(i) << 32) | ((long) s.charAt(i + 1) << 16) | s.charAt(i + 2);
+    }
+}
@@ -0,0 +1,180 @@
+package com.staff.employee.index;
+
+import com.staff.employee.config.ConsistentReads;
+import com.staff.employee.event.EmployeeChangedEvent;
+import com.staff.employee.repository.EmployeeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index from skill to a compressed bitmap of employee ids, so skillsAny/skillsAll filters become
+ * bitmap OR/AND operations instead of joins on employee_skills. Skills match exactly, as in SQL.
+ */
+@Component
+@Slf4j
+public class SkillIndex {
+
+    private static final int LOAD_CHUNK = 10_000;
+
+    private final EmployeeRepository repository;
+    private final boolean enabled;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Roaring64NavigableMap> bitmaps = new HashMap<>();
+    private volatile boolean ready;
+
+    public SkillIndex(EmployeeRepository repository, @Value("${app.index.skills.enabled:true}") boolean enabled) {
+        this.repository = repository;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            bitmaps.clear();
+            // Events keep the index current from here on, so it must not start from a lagging replica
+            ConsistentReads.run(this::load);
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Skill index built: {} skills in {} ms", bitmaps.size(), System.currentTimeMillis() - start);
+    }
+
+    private void load() {
+        long after = 0;
+        List<Object[]> ids;
+        do {
+            // Chunk on employee id ranges so one employee's skills never straddle two chunks
+            ids = repository.findIdAndNameAfter(after, PageRequest.ofSize(LOAD_CHUNK));
+            if (ids.isEmpty()) break;
+            long upTo = (Long) ids.get(ids.size() - 1)[0];
+            for (Object[] row : repository.findSkillsByEmployeeIdBetween(after + 1, upTo)) {
+                add((Long) row[0], (String) row[1]);
+            }
+            after = upTo;
+        } while (ids.size() == LOAD_CHUNK);
+    }
+
+    /**
+     * Ids having at least one of {@code skills}, or null when the index is not available.
+     */
+    public Roaring64NavigableMap anyOf(Collection<String> skills) {
+        if (!ready) {
+            return null;
+        }
+        lock.readLock().lock();
+        try {
+            Roaring64NavigableMap result = new Roaring64NavigableMap();
+            for (String skill : skills) {
+                Roaring64NavigableMap bitmap = bitmaps.get(skill);
+                if (bitmap != null) result.or(bitmap);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids having every one of {@code skills}, or null when the index is not available.
+     */
+    public Roaring64NavigableMap allOf(Collection<String> skills) {
+        if (!ready) {
+            return null;
+        }
+        lock.readLock().lock();
+        try {
+            Roaring64NavigableMap result = null;
+            for (String skill : skills) {
+                Roaring64NavigableMap bitmap = bitmaps.get(skill);
+                if (bitmap == null) {
+                    return new Roaring64NavigableMap();
+                }
+                if (result == null) {
+                    result = new Roaring64NavigableMap();
+                    result.or(bitmap);
+                } else {
+                    result.and(bitmap);
+                }
+            }
+            return result == null ? new Roaring64NavigableMap() : result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Whether employee {@code id} has {@code skill}, or null when the index is not available.
+     */
+    public Boolean has(long id, String skill) {
+        if (!ready) {
+            return null;
+        }
+        lock.readLock().lock();
+        try {
+            Roaring64NavigableMap bitmap = bitmaps.get(skill);
+            return bitmap != null && bitmap.contains(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        if (!enabled || skillsUnchanged(event)) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (event.before() != null && event.before().skills() != null) {
+                for (String skill : event.before().skills()) {
+                    Roaring64NavigableMap bitmap = bitmaps.get(skill);
+                    if (bitmap != null) {
+                        bitmap.removeLong(event.id());
+                        if (bitmap.isEmpty()) bitmaps.remove(skill);
+                    }
+                }
+            } else {
+                // Previous skills unknown; clearing the id from every bitmap is O(distinct skills)
+                bitmaps.values().removeIf(bitmap -> {
+                    bitmap.removeLong(event.id());
+                    return bitmap.isEmpty();
+                });
+            }
+            if (event.after() != null && event.after().skills() != null) {
+                event.after().skills().forEach(skill -> add(event.id(), skill));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static boolean skillsUnchanged(EmployeeChangedEvent event) {
+        return event.before() != null && event.before().skills() == null
+                && event.after() != null && event.after().skills() == null;
+    }
+
+    private void add(long id, String skill) {
+        if (skill != null) {
+            bitmaps.computeIfAbsent(skill, k -> new Roaring64NavigableMap()).addLong(id);
+        }
+    }
+}
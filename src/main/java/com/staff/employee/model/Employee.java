@@ -7,7 +7,11 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "employees")
+// (key, id) indexes serve keyset pages: seek by name, and by id within a department
+@Table(name = "employees", indexes = {
+        @Index(name = "employees_name_id", columnList = "name, id"),
+        @Index(name = "employees_department_id", columnList = "department, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -15,8 +19,11 @@ import java.util.List;
 @Builder
 public class Employee {
 
+    // Pooled sequence instead of IDENTITY: ids are known before the INSERT, so Hibernate can batch inserts,
+    // and one sequence call covers allocationSize rows
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employee_seq")
+    @SequenceGenerator(name = "employee_seq", sequenceName = "employees_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -26,10 +33,19 @@ public class Employee {
 
     private String department;
 
-    @ElementCollection(fetch = FetchType.EAGER)
+    // Loaded on demand; the GraphQL skills field goes through the batched skillsDataLoader instead
+    @ElementCollection(fetch = FetchType.LAZY)
     @CollectionTable(name = "employee_skills", joinColumns = @JoinColumn(name = "employee_id"))
     @Column(name = "skill")
     private List<String> skills = new ArrayList<>();
 
     private Integer attendance;
+
+    // Key of the employee in the HR system feeding the bulk import; the import upserts on it
+    @Column(name = "external_id", unique = true)
+    private String externalId;
+
+    // Bumped by every update, including patches; writers that were handed an older version lose
+    @Version
+    private Long version;
 }
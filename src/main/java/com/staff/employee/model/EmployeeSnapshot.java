@@ -0,0 +1,53 @@
+package com.staff.employee.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Immutable copy of an employee. Safe to share between requests; callers get their own mutable
+ * {@link Employee} through {@link #toEmployee()}.
+ *
+ * @param skills null when the skills were not captured, as for entity cache entries, which leave skills to
+ *               the skills DataLoader, and for patches that left them unchanged
+ */
+public record EmployeeSnapshot(
+        Long id,
+        String name,
+        Integer age,
+        String department,
+        Integer attendance,
+        Long version,
+        List<String> skills
+) {
+
+    /**
+     * Scalar columns only.
+     */
+    public static EmployeeSnapshot of(Employee e) {
+        return new EmployeeSnapshot(e.getId(), e.getName(), e.getAge(), e.getDepartment(), e.getAttendance(), e.getVersion(), null);
+    }
+
+    /**
+     * Scalar columns and skills; initializes the skills collection if it is still lazy. Null skills are left
+     * out, as they are when the collection is written.
+     */
+    public static EmployeeSnapshot withSkills(Employee e) {
+        List<String> skills = e.getSkills() == null ? List.of() : e.getSkills().stream().filter(Objects::nonNull).toList();
+        return new EmployeeSnapshot(e.getId(), e.getName(), e.getAge(), e.getDepartment(), e.getAttendance(), e.getVersion(), skills);
+    }
+
+    public Employee toEmployee() {
+        Employee e = new Employee();
+        e.setId(id);
+        e.setName(name);
+        e.setAge(age);
+        e.setDepartment(department);
+        e.setAttendance(attendance);
+        e.setVersion(version);
+        if (skills != null) {
+            e.setSkills(new ArrayList<>(skills));
+        }
+        return e;
+    }
+}
@@ -5,12 +5,31 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface EmployeeRepository extends JpaRepository<Employee, Long>, JpaSpecificationExecutor<Employee> {
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, JpaSpecificationExecutor<Employee>, EmployeeRepositoryCustom {
     List<Employee> findByIdIn(List<Long> ids);
+    List<Employee> findByExternalIdIn(Collection<String> externalIds);
     Page<Employee> findAll(Pageable pageable);
+
+    // Rows of (employee id, skill) for all requested employees in one statement
+    @Query("select e.id, s from Employee e join e.skills s where e.id in :ids")
+    List<Object[]> findSkillsByEmployeeIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select e.id, s from Employee e join e.skills s where e.id between :from and :upTo")
+    List<Object[]> findSkillsByEmployeeIdBetween(@Param("from") Long from, @Param("upTo") Long upTo);
+
+    // Keyset chunks of (id, name), used to build the in-memory name index
+    @Query("select e.id, e.name from Employee e where e.id > :after order by e.id")
+    List<Object[]> findIdAndNameAfter(@Param("after") Long after, Pageable pageable);
+
+    // Keyset chunks of every scalar column, used to build the columnar snapshot
+    @Query("select e.id, e.name, e.age, e.department, e.attendance, e.version from Employee e where e.id > :after order by e.id")
+    List<Object[]> findColumnsAfter(@Param("after") Long after, Pageable pageable);
 }
@@ -0,0 +1,91 @@
+package com.staff.employee.repository;
+
+import com.staff.employee.dto.EmployeeCursor;
+import com.staff.employee.dto.EmployeePatch;
+import com.staff.employee.dto.SkillStats;
+import com.staff.employee.model.Employee;
+import com.staff.employee.stats.DepartmentTotals;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+public interface EmployeeRepositoryCustom {
+
+    /**
+     * Scalar columns that can be projected; skills live in their own table and are loaded separately.
+     */
+    Set<String> COLUMNS = Set.of("id", "name", "age", "department", "attendance", "version");
+
+    /**
+     * Like {@code findAll(spec, pageable)} but without the accompanying count query. Only the given
+     * {@code columns} are selected; the returned employees are plain read-only values, not managed entities.
+     */
+    List<Employee> findRange(Specification<Employee> spec, Sort sort, long offset, int limit, Collection<String> columns);
+
+    /**
+     * Projected counterpart of {@code findByIdIn}; see {@link #findRange} for the shape of the results.
+     */
+    List<Employee> findProjectedByIdIn(Collection<Long> ids, Collection<String> columns);
+
+    /**
+     * Keyset scan ordered by {@code order} and then by id. Rows with a null sort key come last in both
+     * directions. Only the rows strictly after {@code after} are returned; no count query is issued. Rows
+     * come back as detached projections of {@link #COLUMNS}.
+     */
+    List<Employee> findAfter(Specification<Employee> spec, Sort.Order order, EmployeeCursor after, int limit);
+
+    /**
+     * Persists new employees, flushing and clearing the persistence context every {@code chunkSize} rows so
+     * that inserts go out as JDBC batches and memory stays flat for very large lists. Must run inside a
+     * transaction; entities passed in are detached afterwards but keep their generated ids.
+     */
+    void insertAll(List<Employee> employees, int chunkSize);
+
+    /**
+     * Writes the non-null columns of {@code patch} to one employee in a single UPDATE that also bumps its
+     * version, provided the row is still at {@code version}. Skills are left alone. Returns the number of rows
+     * updated: 0 when the employee is gone or has moved past {@code version}.
+     */
+    int patch(Long id, long version, EmployeePatch patch);
+
+    /**
+     * Replaces the skills of one employee with a DELETE and one multi-row INSERT, without loading the
+     * collection first.
+     */
+    void replaceSkills(Long id, List<String> skills);
+
+    /**
+     * Deletes one employee and its skills with bulk statements, provided it is still at {@code version}.
+     * Returns whether it was deleted.
+     */
+    boolean removeById(Long id, Long version);
+
+    /**
+     * Feeds every matching employee, skills included, to {@code action} in id order. Rows come from a
+     * forward-only cursor in a read-only stateless session, so nothing accumulates in memory however many
+     * employees match. The employees passed in are plain values, not managed entities.
+     */
+    void streamAll(Specification<Employee> spec, int fetchSize, Consumer<Employee> action);
+
+    /**
+     * Headcount and age/attendance sums per department, grouped in the database.
+     */
+    List<DepartmentTotals> departmentTotals(Specification<Employee> spec);
+
+    /**
+     * Employees per skill, grouped in the database.
+     */
+    List<SkillStats> skillStats(Specification<Employee> spec);
+
+    /**
+     * Employees per distinct non-null value of an integer {@code column} such as age. Histograms are folded
+     * from these counts, which stay small (one row per distinct value) and need no database-specific
+     * bucketing arithmetic.
+     */
+    Map<Integer, Long> countByValue(Specification<Employee> spec, String column);
+}
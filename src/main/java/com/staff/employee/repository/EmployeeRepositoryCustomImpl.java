@@ -0,0 +1,362 @@
+package com.staff.employee.repository;
+
+import com.staff.employee.dto.EmployeeCursor;
+import com.staff.employee.dto.EmployeePatch;
+import com.staff.employee.dto.SkillStats;
+import com.staff.employee.model.Employee;
+import com.staff.employee.stats.DepartmentTotals;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceUnit;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaDelete;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+class EmployeeRepositoryCustomImpl implements EmployeeRepositoryCustom {
+
+    // Keyset sort keys declared NOT NULL, which need no null handling in their seek predicate
+    private static final Set<String> NOT_NULL_KEYS = Set.of("name");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @PersistenceUnit
+    private EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public List<Employee> findRange(Specification<Employee> spec, Sort sort, long offset, int limit, Collection<String> columns) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Employee> root = query.from(Employee.class);
+        query.multiselect(select(root, columns));
+        if (spec != null) {
+            Predicate p = spec.toPredicate(root, query, cb);
+            if (p != null) query.where(p);
+        }
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+        List<Tuple> rows = entityManager.createQuery(query)
+                .setFirstResult(Math.toIntExact(offset))
+                .setMaxResults(limit)
+                .getResultList();
+        return toEmployees(rows, columns);
+    }
+
+    @Override
+    public List<Employee> findProjectedByIdIn(Collection<Long> ids, Collection<String> columns) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Employee> root = query.from(Employee.class);
+        query.multiselect(select(root, columns)).where(root.get("id").in(ids));
+        return toEmployees(entityManager.createQuery(query).getResultList(), columns);
+    }
+
+    @Override
+    public void insertAll(List<Employee> employees, int chunkSize) {
+        for (int i = 0; i < employees.size(); i++) {
+            entityManager.persist(employees.get(i));
+            if ((i + 1) % chunkSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Override
+    public int patch(Long id, long version, EmployeePatch patch) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Employee> update = cb.createCriteriaUpdate(Employee.class);
+        Root<Employee> root = update.from(Employee.class);
+        if (patch.name() != null) update.set(root.<String>get("name"), patch.name());
+        if (patch.age() != null) update.set(root.<Integer>get("age"), patch.age());
+        if (patch.department() != null) update.set(root.<String>get("department"), patch.department());
+        if (patch.attendance() != null) update.set(root.<Integer>get("attendance"), patch.attendance());
+        Path<Long> current = root.get("version");
+        update.set(current, cb.sum(current, 1L));
+        update.where(cb.equal(root.get("id"), id), cb.equal(current, version));
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    @Override
+    public void replaceSkills(Long id, List<String> skills) {
+        // The collection table has no entity of its own, so JPQL cannot address it
+        entityManager.createNativeQuery("delete from employee_skills where employee_id = ?")
+                .setParameter(1, id)
+                .executeUpdate();
+        if (skills.isEmpty()) {
+            return;
+        }
+        Query insert = entityManager.createNativeQuery("insert into employee_skills (employee_id, skill) values "
+                + String.join(", ", Collections.nCopies(skills.size(), "(?, ?)")));
+        for (int i = 0; i < skills.size(); i++) {
+            insert.setParameter(2 * i + 1, id).setParameter(2 * i + 2, skills.get(i));
+        }
+        insert.executeUpdate();
+    }
+
+    @Override
+    public boolean removeById(Long id, Long version) {
+        // Hibernate deletes the skills of the matching rows first, in one statement of their own
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaDelete<Employee> delete = cb.createCriteriaDelete(Employee.class);
+        Root<Employee> root = delete.from(Employee.class);
+        delete.where(cb.equal(root.get("id"), id), cb.equal(root.get("version"), version));
+        return entityManager.createQuery(delete).executeUpdate() > 0;
+    }
+
+    @Override
+    public void streamAll(Specification<Employee> spec, int fetchSize, Consumer<Employee> action) {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            Transaction tx = session.beginTransaction();
+            try {
+                session.doWork(connection -> connection.setReadOnly(true));
+                CriteriaBuilder cb = session.getCriteriaBuilder();
+                CriteriaQuery<Tuple> query = cb.createTupleQuery();
+                Root<Employee> root = query.from(Employee.class);
+                // One row per (employee, skill): the join keeps skills on the same cursor instead of a query per employee
+                Join<Employee, String> skill = root.join("skills", JoinType.LEFT);
+                query.multiselect(root.get("id"), root.get("externalId"), root.get("name"), root.get("age"),
+                        root.get("department"), root.get("attendance"), skill);
+                if (spec != null) {
+                    Predicate p = spec.toPredicate(root, query, cb);
+                    if (p != null) query.where(p);
+                }
+                query.orderBy(cb.asc(root.get("id")));
+
+                try (ScrollableResults<Tuple> rows = session.createQuery(query)
+                        .setReadOnly(true)
+                        .setFetchSize(fetchSize)
+                        .scroll(ScrollMode.FORWARD_ONLY)) {
+                    Employee current = null;
+                    while (rows.next()) {
+                        Tuple row = rows.get();
+                        Long id = row.get(0, Long.class);
+                        if (current == null || !current.getId().equals(id)) {
+                            if (current != null) action.accept(current);
+                            current = new Employee();
+                            current.setId(id);
+                            current.setExternalId(row.get(1, String.class));
+                            current.setName(row.get(2, String.class));
+                            current.setAge(row.get(3, Integer.class));
+                            current.setDepartment(row.get(4, String.class));
+                            current.setAttendance(row.get(5, Integer.class));
+                        }
+                        String s = row.get(6, String.class);
+                        if (s != null) current.getSkills().add(s);
+                    }
+                    if (current != null) action.accept(current);
+                }
+                tx.commit();
+            } catch (RuntimeException ex) {
+                tx.rollback();
+                throw ex;
+            }
+        }
+    }
+
+    @Override
+    public List<DepartmentTotals> departmentTotals(Specification<Employee> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Employee> root = query.from(Employee.class);
+        Path<String> department = root.get("department");
+        Path<Integer> age = root.get("age");
+        Path<Integer> attendance = root.get("attendance");
+        // count(column) skips nulls, matching how the sums treat them
+        query.multiselect(department, cb.count(root), cb.count(age), cb.sumAsLong(age), cb.count(attendance), cb.sumAsLong(attendance));
+        where(query, root, cb, spec);
+        query.groupBy(department).orderBy(cb.asc(department));
+        List<DepartmentTotals> totals = new ArrayList<>();
+        for (Tuple row : entityManager.createQuery(query).getResultList()) {
+            totals.add(new DepartmentTotals(row.get(0, String.class), row.get(1, Long.class), row.get(2, Long.class),
+                    zeroIfNull(row.get(3, Long.class)), row.get(4, Long.class), zeroIfNull(row.get(5, Long.class))));
+        }
+        return totals;
+    }
+
+    private static long zeroIfNull(Long value) {
+        return value == null ? 0 : value;
+    }
+
+    @Override
+    public List<SkillStats> skillStats(Specification<Employee> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Employee> root = query.from(Employee.class);
+        Join<Employee, String> skill = root.join("skills");
+        query.multiselect(skill, cb.countDistinct(root));
+        where(query, root, cb, spec);
+        query.groupBy(skill).orderBy(cb.asc(skill));
+        List<SkillStats> stats = new ArrayList<>();
+        for (Tuple row : entityManager.createQuery(query).getResultList()) {
+            stats.add(SkillStats.builder().skill(row.get(0, String.class)).headcount(row.get(1, Long.class)).build());
+        }
+        return stats;
+    }
+
+    @Override
+    public Map<Integer, Long> countByValue(Specification<Employee> spec, String column) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Employee> root = query.from(Employee.class);
+        Path<Integer> value = root.get(column);
+        query.multiselect(value, cb.count(root));
+        where(query, root, cb, spec);
+        query.where(query.getRestriction() == null ? cb.isNotNull(value) : cb.and(query.getRestriction(), cb.isNotNull(value)));
+        query.groupBy(value);
+        Map<Integer, Long> counts = new HashMap<>();
+        for (Tuple row : entityManager.createQuery(query).getResultList()) {
+            counts.put(row.get(0, Integer.class), row.get(1, Long.class));
+        }
+        return counts;
+    }
+
+    private static void where(CriteriaQuery<?> query, Root<Employee> root, CriteriaBuilder cb, Specification<Employee> spec) {
+        if (spec != null) {
+            Predicate p = spec.toPredicate(root, query, cb);
+            if (p != null) query.where(p);
+        }
+    }
+
+    private static List<Selection<?>> select(Root<Employee> root, Collection<String> columns) {
+        List<Selection<?>> selections = new ArrayList<>(columns.size());
+        for (String column : columns) {
+            selections.add(root.get(column).alias(column));
+        }
+        return selections;
+    }
+
+    // Tuples never enter the persistence context, so there is no entity snapshot or dirty checking to pay for
+    private static List<Employee> toEmployees(List<Tuple> rows, Collection<String> columns) {
+        List<Employee> employees = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            Employee e = new Employee();
+            for (String column : columns) {
+                Object value = row.get(column);
+                switch (column) {
+                    case "id" -> e.setId((Long) value);
+                    case "name" -> e.setName((String) value);
+                    case "age" -> e.setAge((Integer) value);
+                    case "department" -> e.setDepartment((String) value);
+                    case "attendance" -> e.setAttendance((Integer) value);
+                    case "version" -> e.setVersion((Long) value);
+                    default -> throw new IllegalArgumentException("Unknown column: " + column);
+                }
+            }
+            employees.add(e);
+        }
+        return employees;
+    }
+
+    @Override
+    public List<Employee> findAfter(Specification<Employee> spec, Sort.Order order, EmployeeCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Employee> root = query.from(Employee.class);
+        query.multiselect(select(root, COLUMNS));
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (spec != null) {
+            Predicate p = spec.toPredicate(root, query, cb);
+            if (p != null) predicates.add(p);
+        }
+
+        Path<Long> id = root.get("id");
+        boolean asc = order.isAscending();
+        if ("id".equals(order.getProperty())) {
+            if (after != null) {
+                predicates.add(asc ? cb.greaterThan(id, after.id()) : cb.lessThan(id, after.id()));
+            }
+            query.orderBy(asc ? cb.asc(id) : cb.desc(id));
+        } else if (NOT_NULL_KEYS.contains(order.getProperty())) {
+            // (key, id) row comparison on a plain ORDER BY key, id, which the composite index serves
+            Path<Comparable<Object>> key = root.get(order.getProperty());
+            if (after != null) {
+                predicates.add(seekNotNull(cb, key, id, after, asc));
+            }
+            query.orderBy(asc ? cb.asc(key) : cb.desc(key), asc ? cb.asc(id) : cb.desc(id));
+        } else {
+            Path<Comparable<Object>> key = root.get(order.getProperty());
+            if (after != null) {
+                predicates.add(seek(cb, key, id, after, asc));
+            }
+            // Explicit "nulls last" so the seek predicate does not depend on the database's null ordering
+            Expression<Integer> nullsLast = cb.<Integer>selectCase().when(cb.isNull(key), 1).otherwise(0);
+            query.orderBy(cb.asc(nullsLast), asc ? cb.asc(key) : cb.desc(key), asc ? cb.asc(id) : cb.desc(id));
+        }
+
+        query.where(predicates.toArray(new Predicate[0]));
+        return toEmployees(entityManager.createQuery(query).setMaxResults(limit).getResultList(), COLUMNS);
+    }
+
+    private Predicate seekNotNull(CriteriaBuilder cb, Path<Comparable<Object>> key, Path<Long> id, EmployeeCursor after, boolean asc) {
+        if (after.value() == null) {
+            throw new IllegalArgumentException("Invalid cursor value: null");
+        }
+        Comparable<Object> value = toKeyValue(key.getJavaType(), after.value());
+        Predicate keyAfter = asc ? cb.greaterThan(key, value) : cb.lessThan(key, value);
+        Predicate idAfter = asc ? cb.greaterThan(id, after.id()) : cb.lessThan(id, after.id());
+        return cb.or(keyAfter, cb.and(cb.equal(key, value), idAfter));
+    }
+
+    private Predicate seek(CriteriaBuilder cb, Path<Comparable<Object>> key, Path<Long> id, EmployeeCursor after, boolean asc) {
+        Predicate idAfter = asc ? cb.greaterThan(id, after.id()) : cb.lessThan(id, after.id());
+        if (after.value() == null) {
+            // Already inside the trailing null block: only ids further along remain
+            return cb.and(cb.isNull(key), idAfter);
+        }
+        Comparable<Object> value = toKeyValue(key.getJavaType(), after.value());
+        Predicate keyAfter = asc ? cb.greaterThan(key, value) : cb.lessThan(key, value);
+        return cb.or(
+                cb.and(cb.isNotNull(key), cb.or(keyAfter, cb.and(cb.equal(key, value), idAfter))),
+                cb.isNull(key)
+        );
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Comparable<Object> toKeyValue(Class<?> type, String raw) {
+        try {
+            if (Integer.class.equals(type) || int.class.equals(type)) {
+                return (Comparable<Object>) (Comparable<?>) Integer.valueOf(raw);
+            }
+            if (Long.class.equals(type) || long.class.equals(type)) {
+                return (Comparable<Object>) (Comparable<?>) Long.valueOf(raw);
+            }
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid cursor value: " + raw);
+        }
+        return (Comparable<Object>) (Comparable<?>) raw;
+    }
+}
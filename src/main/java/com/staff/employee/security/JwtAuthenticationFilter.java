@@ -8,25 +8,20 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpHeaders;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-import java.util.stream.Collectors;
 
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final JwtUtil jwtUtil;
+    private final VerifiedTokenCache tokenCache;
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil) {
-        this.jwtUtil = jwtUtil;
+    public JwtAuthenticationFilter(VerifiedTokenCache tokenCache) {
+        this.tokenCache = tokenCache;
     }
 
     @Override
@@ -45,35 +40,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             log.debug("JwtAuthenticationFilter: Authorization header present");
             String token = header.substring(7);
             try {
-                var claims = jwtUtil.parseToken(token);
-                String username = claims.getSubject();
-                log.debug("JwtAuthenticationFilter: parsed token for username='{}'", username);
+                VerifiedToken verified = tokenCache.verify(token);
+                String username = verified.username();
+                log.debug("JwtAuthenticationFilter: authorities={} for username='{}'", verified.authorities(), username);
 
-                // Safely extract roles from token claims. The claim may be a List<?> or a String.
-                Object rolesObj = claims.get("roles");
-                List<String> roles = new ArrayList<>();
-                if (rolesObj instanceof List<?>) {
-                    for (Object o : (List<?>) rolesObj) {
-                        if (o != null) {
-                            roles.add(o.toString());
-                        }
-                    }
-                } else if (rolesObj instanceof String) {
-                    String s = (String) rolesObj;
-                    if (!s.isBlank()) {
-                        for (String part : s.split(",")) {
-                            String p = part.trim();
-                            if (!p.isEmpty()) roles.add(p);
-                        }
-                    }
-                }
-                log.debug("JwtAuthenticationFilter: roles extracted={} for username='{}'", roles, username);
-
-                List<SimpleGrantedAuthority> authorities = roles.isEmpty()
-                        ? Collections.emptyList()
-                        : roles.stream().map(SimpleGrantedAuthority::new).collect(Collectors.toList());
-
-                var auth = new UsernamePasswordAuthenticationToken(username, null, authorities);
+                var auth = new UsernamePasswordAuthenticationToken(username, null, verified.authorities());
                 auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(auth);
             } catch (Exception ex) {
@@ -1,14 +1,18 @@
 package com.staff.employee.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
@@ -18,11 +22,14 @@ public class JwtUtil {
 
     private final Key key;
     private final long expirationMs;
+    // Immutable and thread-safe; building it per call dominated the cost of parsing
+    private final JwtParser parser;
 
     public JwtUtil(@Value("${security.jwt.secret:secret-key-should-be-changed}") String secret,
                    @Value("${security.jwt.expiration-ms:3600000}") long expirationMs) {
         this.key = Keys.hmacShaKeyFor(secret.getBytes());
         this.expirationMs = expirationMs;
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
     }
 
     public String generateToken(String username, List<String> roles) {
@@ -38,6 +45,31 @@ public class JwtUtil {
     }
 
     public Claims parseToken(String token) {
-        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    /**
+     * Verifies the signature and expiry of {@code token} and resolves its authorities.
+     */
+    public VerifiedToken verify(String token) {
+        Claims claims = parseToken(token);
+        // The roles claim may be a List<?> or a comma-separated String
+        Object rolesObj = claims.get("roles");
+        List<SimpleGrantedAuthority> authorities = new ArrayList<>();
+        if (rolesObj instanceof List<?>) {
+            for (Object o : (List<?>) rolesObj) {
+                if (o != null) {
+                    authorities.add(new SimpleGrantedAuthority(o.toString()));
+                }
+            }
+        } else if (rolesObj instanceof String) {
+            String s = (String) rolesObj;
+            for (String part : s.split(",")) {
+                String p = part.trim();
+                if (!p.isEmpty()) authorities.add(new SimpleGrantedAuthority(p));
+            }
+        }
+        Instant expiresAt = claims.getExpiration() == null ? null : claims.getExpiration().toInstant();
+        return new VerifiedToken(claims.getSubject(), List.copyOf(authorities), expiresAt);
     }
 }
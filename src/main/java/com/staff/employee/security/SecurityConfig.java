@@ -32,7 +32,7 @@ import java.util.Arrays;
 @EnableMethodSecurity
 public class SecurityConfig {
 
-    private final JwtUtil jwtUtil;
+    private final VerifiedTokenCache tokenCache;
     private final UserDetailsService userDetailsService;
 
     // Read allowed origins from application properties; default to the deployed frontend
@@ -40,8 +40,8 @@ public class SecurityConfig {
     @Value("#{'${app.cors.allowed-origins:https://staff-portal-ui-ez7c.vercel.app}'.split(',')}")
     private String[] allowedOrigins;
 
-    public SecurityConfig(JwtUtil jwtUtil, UserDetailsService userDetailsService) {
-        this.jwtUtil = jwtUtil;
+    public SecurityConfig(VerifiedTokenCache tokenCache, UserDetailsService userDetailsService) {
+        this.tokenCache = tokenCache;
         this.userDetailsService = userDetailsService;
     }
 
@@ -59,7 +59,7 @@ public class SecurityConfig {
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
-        JwtAuthenticationFilter jwtFilter = new JwtAuthenticationFilter(jwtUtil);
+        JwtAuthenticationFilter jwtFilter = new JwtAuthenticationFilter(tokenCache);
 
         http
                 // Enable CORS and provide configuration via CorsConfigurationSource bean
@@ -78,6 +78,11 @@ public class SecurityConfig {
                         .requestMatchers(new AntPathRequestMatcher("/h2-console/**")).permitAll()
                         // Allow HTTP access to /graphql and enforce authorization at method level (@PreAuthorize in resolvers)
                         .requestMatchers(new AntPathRequestMatcher("/graphql")).permitAll()
+                        // Bulk import and export are admin-only REST endpoints
+                        .requestMatchers(new AntPathRequestMatcher("/import/**"), new AntPathRequestMatcher("/export/**")).hasRole("ADMIN")
+                        // Health stays open for probes; metrics and prometheus expose internals, so they are admin-only
+                        .requestMatchers(new AntPathRequestMatcher("/actuator/health"), new AntPathRequestMatcher("/actuator/health/**")).permitAll()
+                        .requestMatchers(new AntPathRequestMatcher("/actuator/**")).hasRole("ADMIN")
                         .anyRequest().permitAll()
                 )
                 .sessionManagement((s) -> s.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
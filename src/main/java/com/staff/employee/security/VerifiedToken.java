@@ -0,0 +1,16 @@
+package com.staff.employee.security;
+
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Outcome of verifying a JWT: who it is for, what they may do and until when.
+ */
+public record VerifiedToken(
+        String username,
+        List<SimpleGrantedAuthority> authorities,
+        Instant expiresAt
+) {
+}
@@ -0,0 +1,87 @@
+package com.staff.employee.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Remembers tokens that already passed {@link JwtUtil#verify}, so a client presenting the same token again
+ * skips signature verification and claim parsing. Keys are SHA-256 digests (the raw token is never retained)
+ * and every entry expires no later than the token itself.
+ */
+@Component
+@Slf4j
+public class VerifiedTokenCache {
+
+    private final JwtUtil jwtUtil;
+    // null when caching is switched off
+    private final Cache<String, VerifiedToken> cache;
+
+    public VerifiedTokenCache(JwtUtil jwtUtil,
+                              @Value("${security.jwt.cache.enabled:true}") boolean enabled,
+                              @Value("${security.jwt.cache.max-size:10000}") long maxSize,
+                              @Value("${security.jwt.cache.max-ttl-seconds:600}") long maxTtlSeconds) {
+        this.jwtUtil = jwtUtil;
+        this.cache = !enabled ? null : Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new UntilTokenExpiry(Duration.ofSeconds(maxTtlSeconds)))
+                .build();
+    }
+
+    /**
+     * Verifies {@code token}, from cache when possible. Invalid tokens throw and are never cached.
+     */
+    public VerifiedToken verify(String token) {
+        if (cache == null) {
+            return jwtUtil.verify(token);
+        }
+        VerifiedToken cached = cache.get(digest(token), d -> jwtUtil.verify(token));
+        // Entries are evicted at expiry, but eviction is best effort
+        if (cached.expiresAt() != null && !cached.expiresAt().isAfter(Instant.now())) {
+            cache.invalidate(digest(token));
+            return jwtUtil.verify(token);
+        }
+        return cached;
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    private record UntilTokenExpiry(Duration maxTtl) implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            if (value.expiresAt() == null) {
+                return maxTtl.toNanos();
+            }
+            Duration remaining = Duration.between(Instant.now(), value.expiresAt());
+            return Math.max(0, Math.min(remaining.toNanos(), maxTtl.toNanos()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
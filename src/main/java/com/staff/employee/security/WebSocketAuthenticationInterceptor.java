@@ -0,0 +1,63 @@
+package com.staff.employee.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.graphql.server.WebSocketGraphQlInterceptor;
+import org.springframework.graphql.server.WebSocketGraphQlRequest;
+import org.springframework.graphql.server.WebSocketSessionInfo;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.util.Map;
+
+/**
+ * Authenticates GraphQL WebSocket sessions from the connection_init payload, since browsers cannot set headers
+ * on the upgrade request. A valid {@code {"Authorization": "Bearer <token>"}} payload makes that user the
+ * principal of every operation on the session; an invalid one closes it. Without the payload the session keeps
+ * whatever {@link JwtAuthenticationFilter} found on the upgrade request.
+ */
+@Component
+@Slf4j
+public class WebSocketAuthenticationInterceptor implements WebSocketGraphQlInterceptor {
+
+    private static final String SECURITY_CONTEXT = WebSocketAuthenticationInterceptor.class.getName() + ".securityContext";
+
+    private final VerifiedTokenCache tokenCache;
+
+    public WebSocketAuthenticationInterceptor(VerifiedTokenCache tokenCache) {
+        this.tokenCache = tokenCache;
+    }
+
+    @Override
+    public Mono<Object> handleConnectionInitialization(WebSocketSessionInfo sessionInfo, Map<String, Object> payload) {
+        Object header = payload.get("Authorization");
+        if (!(header instanceof String value) || !value.startsWith("Bearer ")) {
+            return Mono.empty();
+        }
+        try {
+            VerifiedToken verified = tokenCache.verify(value.substring(7));
+            sessionInfo.getAttributes().put(SECURITY_CONTEXT,
+                    new SecurityContextImpl(new UsernamePasswordAuthenticationToken(verified.username(), null, verified.authorities())));
+            return Mono.empty();
+        } catch (Exception ex) {
+            log.warn("Rejected GraphQL WebSocket session {}: {}", sessionInfo.getId(), ex.getMessage());
+            return Mono.error(new BadCredentialsException("Invalid token"));
+        }
+    }
+
+    @Override
+    public Mono<WebGraphQlResponse> intercept(WebGraphQlRequest request, Chain chain) {
+        if (request instanceof WebSocketGraphQlRequest webSocketRequest
+                && webSocketRequest.getSessionInfo().getAttributes().get(SECURITY_CONTEXT) instanceof SecurityContext context) {
+            // Restored as the SecurityContextHolder of the data fetchers, as the HTTP filter chain would have set it
+            return chain.next(request).contextWrite(Context.of(SecurityContext.class.getName(), context));
+        }
+        return chain.next(request);
+    }
+}
@@ -0,0 +1,119 @@
+package com.staff.employee.seed;
+
+import com.staff.employee.dto.EmployeeInput;
+import com.staff.employee.model.Employee;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Deterministic synthetic employees: the same seed always yields the same sequence. Distributions are shaped
+ * after a mid-size company rather than uniform noise, so filters, histograms and indexes see realistic
+ * selectivity:
+ * <ul>
+ *   <li>departments are weighted (IT and Sales are large, Legal and Management small)</li>
+ *   <li>ages are roughly normal around 38, clamped to 18..67</li>
+ *   <li>1-6 skills, drawn mostly from the department's own pool with a skew towards its first entries, plus
+ *   an occasional skill from anywhere</li>
+ *   <li>attendance clusters in the 85-100 range with a long tail; about 2% have none recorded</li>
+ *   <li>names combine common first and last names, so name fragments repeat as they do in real data</li>
+ * </ul>
+ */
+public class EmployeeGenerator {
+
+    private static final String[] DEPARTMENTS = {"IT", "Sales", "Support", "Operations", "Finance", "Marketing",
+            "Science", "DevOps", "HR", "Design", "Legal", "Management"};
+    private static final int[] DEPARTMENT_WEIGHTS = {22, 14, 12, 10, 8, 8, 6, 6, 5, 4, 3, 2};
+    private static final Map<String, List<String>> SKILLS = Map.ofEntries(
+            Map.entry("IT", List.of("Java", "SQL", "Spring", "Python", "GraphQL", "Kotlin", "Go", "React", ".Net", "Rust")),
+            Map.entry("Sales", List.of("Negotiation", "CRM", "Salesforce", "Presentation", "Forecasting", "German", "French")),
+            Map.entry("Support", List.of("Ticketing", "Linux", "Networking", "Writing", "Jira", "SQL", "Spanish")),
+            Map.entry("Operations", List.of("Logistics", "Excel", "Lean", "SAP", "Procurement", "Six Sigma")),
+            Map.entry("Finance", List.of("Excel", "Accounting", "Audit", "Tax", "SAP", "Forecasting", "SQL")),
+            Map.entry("Marketing", List.of("SEO", "Content", "Analytics", "Writing", "Figma", "Branding", "Social Media")),
+            Map.entry("Science", List.of("R&D", "Statistics", "Python", "ML", "R", "Lab Safety", "MATLAB")),
+            Map.entry("DevOps", List.of("Kubernetes", "Docker", "CICD", "Jenkins", "Terraform", "AWS", "Linux", "Go")),
+            Map.entry("HR", List.of("Hiring", "Payroll", "Onboarding", "Labor Law", "Coaching", "Excel")),
+            Map.entry("Design", List.of("Figma", "UX", "CSS", "Illustration", "Prototyping", "Accessibility")),
+            Map.entry("Legal", List.of("Contracts", "Compliance", "GDPR", "Litigation", "Labor Law")),
+            Map.entry("Management", List.of("Leadership", "Budgeting", "Strategy", "Coaching", "Scrum", "Hiring")));
+    private static final List<String> ALL_SKILLS = SKILLS.values().stream().flatMap(List::stream).distinct().sorted().toList();
+    private static final String[] FIRST_NAMES = {"Alice", "Bob", "Alex", "Charlie", "Maria", "John", "Anna", "David",
+            "Laura", "Michael", "Sofia", "Daniel", "Emma", "James", "Olivia", "Lucas", "Mia", "Noah", "Elena", "Ivan",
+            "Sara", "Peter", "Julia", "Thomas", "Nina", "Marco", "Lea", "Omar", "Aisha", "Chen", "Yuki", "Priya",
+            "Rahul", "Fatima", "Ahmed", "Hannah", "Jonas", "Eva", "Mateo", "Chloe", "Liam", "Zoe", "Ethan", "Grace",
+            "Samuel", "Isabel", "Victor", "Clara", "Hugo", "Ines"};
+    private static final String[] LAST_NAMES = {"Smith", "Johnson", "Brown", "Garcia", "Miller", "Davis", "Martinez",
+            "Lopez", "Wilson", "Anderson", "Taylor", "Thomas", "Moore", "Martin", "Lee", "Perez", "White", "Harris",
+            "Clark", "Lewis", "Walker", "Young", "King", "Wright", "Scott", "Green", "Baker", "Adams", "Nelson", "Hill",
+            "Muller", "Schmidt", "Schneider", "Fischer", "Weber", "Rossi", "Russo", "Ferrari", "Dubois", "Moreau",
+            "Novak", "Horvat", "Kowalski", "Nowak", "Ivanov", "Petrov", "Kim", "Park", "Tanaka", "Sato", "Singh",
+            "Kumar", "Chen", "Wang", "Li", "Nguyen", "Silva", "Santos", "Costa", "Jensen"};
+
+    private final Random random;
+    private final int totalWeight;
+
+    public EmployeeGenerator(long seed) {
+        this.random = new Random(seed);
+        int total = 0;
+        for (int w : DEPARTMENT_WEIGHTS) total += w;
+        this.totalWeight = total;
+    }
+
+    public Employee next() {
+        String department = department();
+        return Employee.builder()
+                .name(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)])
+                .age(age())
+                .department(department)
+                .skills(skills(department))
+                .attendance(random.nextInt(50) == 0 ? null : attendance())
+                .build();
+    }
+
+    public EmployeeInput nextInput() {
+        Employee e = next();
+        return EmployeeInput.builder()
+                .name(e.getName())
+                .age(e.getAge())
+                .department(e.getDepartment())
+                .skills(e.getSkills())
+                .attendance(e.getAttendance())
+                .build();
+    }
+
+    private String department() {
+        int pick = random.nextInt(totalWeight);
+        for (int i = 0; i < DEPARTMENTS.length; i++) {
+            pick -= DEPARTMENT_WEIGHTS[i];
+            if (pick < 0) return DEPARTMENTS[i];
+        }
+        return DEPARTMENTS[DEPARTMENTS.length - 1];
+    }
+
+    private int age() {
+        return (int) Math.max(18, Math.min(67, Math.round(38 + random.nextGaussian() * 10)));
+    }
+
+    private int attendance() {
+        return (int) Math.max(0, 100 - Math.round(Math.abs(random.nextGaussian()) * 9));
+    }
+
+    private List<String> skills(String department) {
+        List<String> pool = SKILLS.get(department);
+        // 1 + geometric(0.45), capped at 6: most people list two or three
+        int count = 1;
+        while (count < 6 && random.nextDouble() < 0.55) count++;
+        List<String> skills = new ArrayList<>(count);
+        for (int attempt = 0; skills.size() < count && attempt < count * 3; attempt++) {
+            String skill = random.nextInt(10) == 0
+                    ? ALL_SKILLS.get(random.nextInt(ALL_SKILLS.size()))
+                    // u^2 skews towards the head of the pool
+                    : pool.get((int) (pool.size() * Math.pow(random.nextDouble(), 2)));
+            if (!skills.contains(skill)) skills.add(skill);
+        }
+        return skills;
+    }
+}
@@ -0,0 +1,79 @@
+package com.staff.employee.seed;
+
+import com.staff.employee.model.Employee;
+import com.staff.employee.repository.EmployeeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Seeds {@code app.seed.employees} synthetic employees at startup when the {@code seed} profile is active
+ * ({@code --spring.profiles.active=seed}), topping up a table that already has some. Runs before
+ * SampleDataRunner, which then leaves the table alone, and before the indexes and the summary are built on
+ * ApplicationReadyEvent, so those see the full data set without per-row events.
+ */
+@Component
+@Profile("seed")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Slf4j
+public class SyntheticDataRunner implements CommandLineRunner {
+
+    private final EmployeeRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final long employees;
+    private final long seed;
+    private final int chunkSize;
+    private final int jdbcBatchSize;
+
+    public SyntheticDataRunner(EmployeeRepository repository, PlatformTransactionManager transactionManager,
+                               @Value("${app.seed.employees:1000000}") long employees,
+                               @Value("${app.seed.random-seed:42}") long seed,
+                               @Value("${app.seed.chunk-size:10000}") int chunkSize,
+                               @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int jdbcBatchSize) {
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.employees = employees;
+        this.seed = seed;
+        this.chunkSize = chunkSize;
+        this.jdbcBatchSize = jdbcBatchSize;
+    }
+
+    @Override
+    public void run(String... args) {
+        long existing = repository.count();
+        if (existing >= employees) {
+            log.info("Seed skipped: {} employees present, {} requested", existing, employees);
+            return;
+        }
+        EmployeeGenerator generator = new EmployeeGenerator(seed);
+        // Skip what an earlier run already inserted so a restart continues the same sequence
+        for (long i = 0; i < existing; i++) {
+            generator.next();
+        }
+        long start = System.nanoTime();
+        long inserted = 0;
+        long remaining = employees - existing;
+        List<Employee> chunk = new ArrayList<>(chunkSize);
+        while (inserted < remaining) {
+            chunk.clear();
+            for (int i = 0; i < chunkSize && inserted + i < remaining; i++) {
+                chunk.add(generator.next());
+            }
+            transactionTemplate.executeWithoutResult(status -> repository.insertAll(chunk, jdbcBatchSize));
+            inserted += chunk.size();
+            if (inserted % 100_000 < chunkSize || inserted == remaining) {
+                long elapsedMs = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+                log.info("Seeded {}/{} employees ({} rows/s)", existing + inserted, employees, inserted * 1000 / elapsedMs);
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.staff.employee.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.staff.employee.dto.EmployeeFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Approximate totals for {@link com.staff.employee.dto.TotalsMode#CACHED}: one count per filter, recomputed
+ * once it is older than the configured TTL.
+ */
+@Component
+public class EmployeeCountCache {
+
+    private static final EmployeeFilter NO_FILTER = EmployeeFilter.builder().build();
+
+    private final Cache<EmployeeFilter, Long> counts;
+
+    public EmployeeCountCache(@Value("${app.count-cache.ttl-seconds:30}") long ttlSeconds,
+                              @Value("${app.count-cache.max-entries:1000}") long maxEntries) {
+        this.counts = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maxEntries)
+                .build();
+    }
+
+    public long count(EmployeeFilter filter, LongSupplier loader) {
+        return counts.get(filter == null ? NO_FILTER : filter, f -> loader.getAsLong());
+    }
+}
@@ -0,0 +1,137 @@
+package com.staff.employee.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.staff.employee.dto.EmployeeFilter;
+import com.staff.employee.model.Employee;
+import com.staff.employee.repository.EmployeeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Writes employees straight from a database cursor to an output stream. Each row is serialized and
+ * dropped before the next is read, so heap use does not grow with the table. The formats match what
+ * {@link EmployeeImportService} reads.
+ */
+@Service
+@Slf4j
+public class EmployeeExportService {
+
+    public enum Format { NDJSON, CSV }
+
+    private final EmployeeRepository repository;
+    private final EmployeeService employeeService;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+
+    public EmployeeExportService(EmployeeRepository repository, EmployeeService employeeService, ObjectMapper objectMapper,
+                                 @Value("${app.export.fetch-size:1000}") int fetchSize) {
+        this.repository = repository;
+        this.employeeService = employeeService;
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Streams the employees matching {@code filter} (all when null) in id order and returns how many were written.
+     */
+    public long export(EmployeeFilter filter, Format format, OutputStream out) throws IOException {
+        long start = System.nanoTime();
+        long[] count = {0};
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        Consumer<Employee> sink = format == Format.CSV ? csvRow(writer) : jsonLine(writer);
+        if (format == Format.CSV) {
+            writer.write("id,externalId,name,age,department,skills,attendance\n");
+        }
+        try {
+            repository.streamAll(employeeService.buildSpec(filter), fetchSize, e -> {
+                sink.accept(e);
+                count[0]++;
+            });
+        } catch (UncheckedIOException ex) {
+            // Usually the client went away; nothing useful can be sent back at this point
+            throw ex.getCause();
+        }
+        writer.flush();
+        log.debug("Exported {} employees as {} in {} ms", count[0], format, (System.nanoTime() - start) / 1_000_000);
+        return count[0];
+    }
+
+    private Consumer<Employee> jsonLine(Writer writer) throws IOException {
+        JsonGenerator json = objectMapper.getFactory().createGenerator(writer);
+        // Lines are separated by '\n' below, not by the default space between root values
+        json.setRootValueSeparator(null);
+        return e -> {
+            try {
+                json.writeStartObject();
+                json.writeNumberField("id", e.getId());
+                json.writeStringField("externalId", e.getExternalId());
+                json.writeStringField("name", e.getName());
+                writeNumber(json, "age", e.getAge());
+                json.writeStringField("department", e.getDepartment());
+                json.writeArrayFieldStart("skills");
+                for (String skill : e.getSkills()) {
+                    json.writeString(skill);
+                }
+                json.writeEndArray();
+                writeNumber(json, "attendance", e.getAttendance());
+                json.writeEndObject();
+                json.flush();
+                writer.write('\n');
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        };
+    }
+
+    private static void writeNumber(JsonGenerator json, String field, Integer value) throws IOException {
+        if (value == null) {
+            json.writeNullField(field);
+        } else {
+            json.writeNumberField(field, value);
+        }
+    }
+
+    private static Consumer<Employee> csvRow(Writer writer) {
+        return e -> {
+            try {
+                writer.write(String.valueOf(e.getId()));
+                writer.write(',');
+                writer.write(csv(e.getExternalId()));
+                writer.write(',');
+                writer.write(csv(e.getName()));
+                writer.write(',');
+                writer.write(e.getAge() == null ? "" : e.getAge().toString());
+                writer.write(',');
+                writer.write(csv(e.getDepartment()));
+                writer.write(',');
+                writer.write(csv(String.join(";", e.getSkills())));
+                writer.write(',');
+                writer.write(e.getAttendance() == null ? "" : e.getAttendance().toString());
+                writer.write('\n');
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        };
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
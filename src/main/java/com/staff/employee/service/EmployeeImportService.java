@@ -0,0 +1,390 @@
+package com.staff.employee.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.staff.employee.dto.EmployeeImportRecord;
+import com.staff.employee.dto.EmployeeInput;
+import com.staff.employee.dto.ImportError;
+import com.staff.employee.dto.ImportSummary;
+import com.staff.employee.event.EmployeeChangedEvent;
+import com.staff.employee.event.EmployeeChangedEvent.ChangeType;
+import com.staff.employee.model.Employee;
+import com.staff.employee.model.EmployeeSnapshot;
+import com.staff.employee.repository.EmployeeRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Streams employee files into the database. Lines are read one at a time and written in chunks of
+ * {@code app.import.chunk-size}, each in its own transaction, so memory use depends on the chunk size and
+ * not on the file. Reading blocks while a chunk is being written, which throttles the client's upload.
+ */
+@Service
+@Slf4j
+public class EmployeeImportService {
+
+    private static final List<String> CSV_COLUMNS = List.of("id", "externalId", "name", "age", "department", "skills", "attendance");
+
+    private final EmployeeRepository repository;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectReader jsonReader;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+    private final int maxLineLength;
+
+    public EmployeeImportService(EmployeeRepository repository, Validator validator, ApplicationEventPublisher eventPublisher,
+                                 PlatformTransactionManager transactionManager, ObjectMapper objectMapper,
+                                 @Value("${app.import.chunk-size:1000}") int chunkSize,
+                                 @Value("${app.import.max-reported-errors:1000}") int maxReportedErrors,
+                                 @Value("${app.import.max-line-length:65536}") int maxLineLength) {
+        this.repository = repository;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jsonReader = objectMapper.readerFor(EmployeeImportRecord.class);
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+        this.maxLineLength = maxLineLength;
+    }
+
+    /**
+     * One JSON object per line, with the fields of {@link EmployeeImportRecord}.
+     */
+    public ImportSummary importNdjson(Reader reader) throws IOException {
+        return importLines(new BoundedLineReader(reader, maxLineLength), 0, jsonReader::readValue);
+    }
+
+    /**
+     * A header line naming the columns (any order, any subset of id (ignored), externalId, name, age, department, skills,
+     * attendance), then one employee per line. Skills are separated by {@code ;}. Fields may be double-quoted;
+     * quoted fields must not span lines.
+     */
+    public ImportSummary importCsv(Reader reader) throws IOException {
+        BoundedLineReader lines = new BoundedLineReader(reader, maxLineLength);
+        String header = lines.readLine();
+        if (header == null) {
+            return new Tally(maxReportedErrors).toSummary();
+        }
+        if (lines.overlong()) {
+            throw new IllegalArgumentException("CSV header is longer than " + maxLineLength + " characters");
+        }
+        List<String> columns = splitCsv(header.startsWith("\uFEFF") ? header.substring(1) : header);
+        for (String column : columns) {
+            if (!CSV_COLUMNS.contains(column)) {
+                throw new IllegalArgumentException("Unknown CSV column: " + column);
+            }
+        }
+        return importLines(lines, 1, line -> fromCsv(columns, splitCsv(line)));
+    }
+
+    private ImportSummary importLines(BoundedLineReader reader, long lineNo, LineParser parser) throws IOException {
+        Tally tally = new Tally(maxReportedErrors);
+        List<Row> chunk = new ArrayList<>(chunkSize);
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNo++;
+            if (reader.overlong()) {
+                tally.reject(lineNo, null, "Line is longer than " + maxLineLength + " characters");
+                continue;
+            }
+            if (line.isBlank()) {
+                continue;
+            }
+            EmployeeImportRecord record;
+            try {
+                record = parser.parse(line);
+            } catch (Exception ex) {
+                tally.reject(lineNo, null, "Malformed line: " + ex.getMessage());
+                continue;
+            }
+            String error = validate(record);
+            if (error != null) {
+                tally.reject(lineNo, record.externalId(), error);
+                continue;
+            }
+            chunk.add(new Row(lineNo, record));
+            if (chunk.size() == chunkSize) {
+                write(chunk, tally);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            write(chunk, tally);
+        }
+        log.info("Employee import finished: {} inserted, {} updated, {} rejected", tally.inserted, tally.updated, tally.rejected);
+        return tally.toSummary();
+    }
+
+    private String validate(EmployeeImportRecord record) {
+        if (record.externalId() == null || record.externalId().isBlank()) {
+            return "externalId must not be blank";
+        }
+        Set<ConstraintViolation<EmployeeInput>> violations = validator.validate(record.toInput());
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    // Upserts one chunk in its own transaction; a failing chunk rejects only its own rows
+    private void write(List<Row> chunk, Tally tally) {
+        try {
+            int[] counts = transactionTemplate.execute(status -> upsert(chunk));
+            tally.inserted += counts[0];
+            tally.updated += counts[1];
+        } catch (RuntimeException ex) {
+            log.warn("Import chunk of {} rows starting at line {} failed", chunk.size(), chunk.get(0).line(), ex);
+            for (Row row : chunk) {
+                tally.reject(row.line(), row.record().externalId(), "Chunk failed: " + ex.getMessage());
+            }
+        }
+    }
+
+    private int[] upsert(List<Row> chunk) {
+        List<String> keys = chunk.stream().map(r -> r.record().externalId()).distinct().collect(Collectors.toList());
+        Map<String, Employee> byKey = new HashMap<>();
+        for (Employee e : repository.findByExternalIdIn(keys)) {
+            byKey.put(e.getExternalId(), e);
+        }
+        Map<Long, EmployeeSnapshot> before = snapshots(byKey.values());
+        int inserted = 0;
+        int updated = 0;
+        Map<Employee, ChangeType> changed = new HashMap<>();
+        for (Row row : chunk) {
+            EmployeeImportRecord r = row.record();
+            Employee e = byKey.get(r.externalId());
+            boolean isNew = e == null;
+            if (isNew) {
+                e = Employee.builder().externalId(r.externalId()).build();
+            }
+            e.setName(r.name());
+            e.setAge(r.age());
+            e.setDepartment(r.department());
+            // Replacing the collection deletes the old rows without loading them
+            e.setSkills(r.skills() == null ? new ArrayList<>() : new ArrayList<>(r.skills()));
+            e.setAttendance(r.attendance());
+            if (isNew) {
+                repository.save(e);
+                byKey.put(r.externalId(), e);
+                changed.put(e, ChangeType.CREATED);
+                inserted++;
+            } else {
+                changed.putIfAbsent(e, ChangeType.UPDATED);
+                updated++;
+            }
+        }
+        // Delivered after this chunk commits
+        changed.forEach((e, type) ->
+                eventPublisher.publishEvent(new EmployeeChangedEvent(type, e.getId(), before.get(e.getId()), EmployeeSnapshot.withSkills(e))));
+        return new int[]{inserted, updated};
+    }
+
+    // State of the existing rows before the chunk touches them; one statement loads the skills of all of them
+    private Map<Long, EmployeeSnapshot> snapshots(Collection<Employee> existing) {
+        if (existing.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, List<String>> skills = new HashMap<>();
+        List<Long> ids = existing.stream().map(Employee::getId).collect(Collectors.toList());
+        for (Object[] row : repository.findSkillsByEmployeeIdIn(ids)) {
+            skills.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]);
+        }
+        Map<Long, EmployeeSnapshot> snapshots = new HashMap<>();
+        for (Employee e : existing) {
+            snapshots.put(e.getId(), new EmployeeSnapshot(e.getId(), e.getName(), e.getAge(), e.getDepartment(),
+                    e.getAttendance(), e.getVersion(), skills.getOrDefault(e.getId(), List.of())));
+        }
+        return snapshots;
+    }
+
+    private static EmployeeImportRecord fromCsv(List<String> columns, List<String> values) {
+        if (values.size() != columns.size()) {
+            throw new IllegalArgumentException("expected " + columns.size() + " fields but found " + values.size());
+        }
+        EmployeeImportRecord.EmployeeImportRecordBuilder b = EmployeeImportRecord.builder();
+        for (int i = 0; i < columns.size(); i++) {
+            String v = values.get(i).isEmpty() ? null : values.get(i);
+            switch (columns.get(i)) {
+                case "id" -> {
+                    // Present in exports; rows are matched by externalId, never by internal id
+                }
+                case "externalId" -> b.externalId(v);
+                case "name" -> b.name(v);
+                case "age" -> b.age(parseInt(v, "age"));
+                case "department" -> b.department(v);
+                case "skills" -> b.skills(v == null ? List.of() : Arrays.stream(v.split(";"))
+                        .map(String::trim).filter(s -> !s.isEmpty()).collect(Collectors.toList()));
+                case "attendance" -> b.attendance(parseInt(v, "attendance"));
+                default -> throw new IllegalStateException(columns.get(i));
+            }
+        }
+        return b.build();
+    }
+
+    private static Integer parseInt(String v, String column) {
+        if (v == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(v.trim());
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException(column + " is not a number: " + v);
+        }
+    }
+
+    // RFC 4180 fields within a single line: commas separate, double quotes quote, "" is a literal quote
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    @FunctionalInterface
+    private interface LineParser {
+        EmployeeImportRecord parse(String line) throws Exception;
+    }
+
+    private record Row(long line, EmployeeImportRecord record) {
+    }
+
+    /**
+     * Splits text into lines like {@link BufferedReader#readLine}, but keeps at most {@code maxLength} characters
+     * of each: the rest of a longer line is read and dropped, so one oversized line cannot exhaust memory.
+     */
+    private static final class BoundedLineReader {
+        private final Reader in;
+        private final int maxLength;
+        private final char[] buffer = new char[8192];
+        private int pos;
+        private int limit;
+        private boolean skipLf;
+        private boolean overlong;
+
+        BoundedLineReader(Reader in, int maxLength) {
+            this.in = in;
+            this.maxLength = maxLength;
+        }
+
+        String readLine() throws IOException {
+            StringBuilder line = null;
+            overlong = false;
+            while (true) {
+                if (pos == limit) {
+                    int n = in.read(buffer, 0, buffer.length);
+                    if (n < 0) {
+                        return line == null ? null : line.toString();
+                    }
+                    pos = 0;
+                    limit = n;
+                    continue;
+                }
+                // \r\n is one line break
+                if (skipLf) {
+                    skipLf = false;
+                    if (buffer[pos] == '\n') {
+                        pos++;
+                        continue;
+                    }
+                }
+                int start = pos;
+                while (pos < limit && buffer[pos] != '\n' && buffer[pos] != '\r') {
+                    pos++;
+                }
+                if (line == null) {
+                    line = new StringBuilder();
+                }
+                int kept = Math.min(pos - start, maxLength - line.length());
+                overlong |= kept < pos - start;
+                line.append(buffer, start, kept);
+                if (pos < limit) {
+                    skipLf = buffer[pos] == '\r';
+                    pos++;
+                    return line.toString();
+                }
+            }
+        }
+
+        // Whether the line last returned was cut short
+        boolean overlong() {
+            return overlong;
+        }
+    }
+
+    // Running totals; only the first maxErrors rejections are kept so a bad file cannot exhaust memory
+    private static final class Tally {
+        private final int maxErrors;
+        private final List<ImportError> errors = new ArrayList<>();
+        private long inserted;
+        private long updated;
+        private long rejected;
+
+        Tally(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        void reject(long line, String externalId, String message) {
+            rejected++;
+            if (errors.size() < maxErrors) {
+                errors.add(ImportError.builder().line(line).externalId(externalId).message(message).build());
+            }
+        }
+
+        ImportSummary toSummary() {
+            return ImportSummary.builder()
+                    .inserted(inserted)
+                    .updated(updated)
+                    .rejected(rejected)
+                    .errors(errors)
+                    .errorsTruncated(rejected > errors.size())
+                    .build();
+        }
+    }
+}
@@ -1,37 +1,191 @@
 package com.staff.employee.service;
 
+import com.staff.employee.cache.EmployeeCache;
+import com.staff.employee.columnar.ColumnarEmployeeStore;
+import com.staff.employee.dto.BulkInsertError;
+import com.staff.employee.dto.BulkInsertResult;
+import com.staff.employee.dto.EmployeeConnection;
+import com.staff.employee.dto.EmployeeCursor;
+import com.staff.employee.dto.EmployeeEdge;
 import com.staff.employee.dto.EmployeeFilter;
 import com.staff.employee.dto.EmployeeInput;
 import com.staff.employee.dto.EmployeePage;
+import com.staff.employee.dto.EmployeePatch;
+import com.staff.employee.dto.PageInfo;
+import com.staff.employee.dto.TotalsMode;
+import com.staff.employee.event.EmployeeChangedEvent;
+import com.staff.employee.event.EmployeeChangedEvent.ChangeType;
 import com.staff.employee.exception.NotFoundException;
+import com.staff.employee.index.NameTrigramIndex;
+import com.staff.employee.index.SkillIndex;
 import com.staff.employee.model.Employee;
+import com.staff.employee.model.EmployeeSnapshot;
 import com.staff.employee.repository.EmployeeRepository;
+import com.staff.employee.repository.EmployeeRepositoryCustom;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
 import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 @Service
 @Slf4j
 @Transactional(readOnly = true)
 public class EmployeeService {
 
+    private static final Set<String> KEYSET_PROPERTIES = Set.of("id", "name", "age", "department", "attendance");
+
     private final EmployeeRepository repository;
+    private final EmployeeCountCache countCache;
+    private final EmployeeCache cache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final NameTrigramIndex nameIndex;
+    private final SkillIndex skillIndex;
+    private final ColumnarEmployeeStore columnar;
+    private final int maxIndexCandidates;
+    private final Validator validator;
+    private final int jdbcBatchSize;
+    private final int maxBulkItems;
 
-    public EmployeeService(EmployeeRepository repository) {
+    public EmployeeService(EmployeeRepository repository, EmployeeCountCache countCache, EmployeeCache cache,
+                           ApplicationEventPublisher eventPublisher, NameTrigramIndex nameIndex, SkillIndex skillIndex,
+                           ColumnarEmployeeStore columnar,
+                           @Value("${app.index.max-candidates:2000}") int maxIndexCandidates,
+                           Validator validator,
+                           @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int jdbcBatchSize,
+                           @Value("${app.bulk.max-items:50000}") int maxBulkItems) {
         this.repository = repository;
+        this.countCache = countCache;
+        this.cache = cache;
+        this.eventPublisher = eventPublisher;
+        this.nameIndex = nameIndex;
+        this.skillIndex = skillIndex;
+        this.columnar = columnar;
+        this.maxIndexCandidates = maxIndexCandidates;
+        this.validator = validator;
+        this.jdbcBatchSize = jdbcBatchSize;
+        this.maxBulkItems = maxBulkItems;
+    }
+
+    /**
+     * Lists a page of employees selecting only {@code fields} (plus id). Unknown names, such as
+     * {@code skills}, are ignored: they are not columns of the employees table. Served from the
+     * {@link ColumnarEmployeeStore} when it is enabled and handles the filter and sort, from SQL otherwise.
+     */
+    public EmployeePage listEmployees(EmployeeFilter filter, int page, int size, String sort, TotalsMode totals, Collection<String> fields) {
+        if (page < 0) {
+            throw new IllegalArgumentException("Page index must not be less than zero");
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must not be less than one");
+        }
+        Sort sortObj = parseSort(sort);
+        long offset = (long) page * size;
+
+        // Slice semantics: one extra row tells us whether there is a next page without counting
+        ColumnarEmployeeStore.Range range = columnar.findRange(filter, sortObj, offset, size + 1, columnsFor(fields));
+        Specification<Employee> spec = range == null ? buildSpec(filter) : null;
+        List<Employee> rows = range != null ? range.rows() : repository.findRange(spec, sortObj, offset, size + 1, columnsFor(fields));
+        boolean hasNext = rows.size() > size;
+        List<Employee> content = hasNext ? rows.subList(0, size) : rows;
+        EmployeePage.EmployeePageBuilder result = EmployeePage.builder()
+                .content(content)
+                .hasNext(hasNext);
+
+        Long total = null;
+        if (totals != TotalsMode.NONE && range != null) {
+            // The columnar scan counted every match anyway
+            total = range.matches();
+        } else if (totals == TotalsMode.EXACT) {
+            // Same shortcut as Spring Data's Page: the last page already tells us the total
+            total = !hasNext && (!content.isEmpty() || offset == 0) ? offset + content.size() : repository.count(spec);
+        } else if (totals == TotalsMode.CACHED) {
+            total = countCache.count(filter, () -> repository.count(spec));
+        }
+        if (total != null) {
+            result.totalElements(total).totalPages((int) Math.ceil((double) total / size));
+        }
+        return result.build();
     }
 
-    public EmployeePage listEmployees(EmployeeFilter filter, int page, int size, String sort) {
+    /**
+     * Whether a {@link #listEmployees} projection for these fields yields fully populated employees.
+     */
+    public static boolean coversAllColumns(Collection<String> fields) {
+        return fields == null || columnsFor(fields).containsAll(EmployeeRepositoryCustom.COLUMNS);
+    }
+
+    /**
+     * Columns a {@link #listEmployees} call with these fields selects.
+     */
+    public static Set<String> columnsFor(Collection<String> fields) {
+        if (fields == null) {
+            return EmployeeRepositoryCustom.COLUMNS;
+        }
+        Set<String> columns = new LinkedHashSet<>();
+        columns.add("id");
+        for (String field : fields) {
+            if (EmployeeRepositoryCustom.COLUMNS.contains(field)) columns.add(field);
+        }
+        return columns;
+    }
+
+    /**
+     * Seek-based pagination on (sort key, id). Unlike {@link #listEmployees} the cost of a page does not
+     * grow with its position and no count query is issued.
+     */
+    public EmployeeConnection employeesConnection(EmployeeFilter filter, int first, String after, String sort) {
+        if (first < 0) {
+            throw new IllegalArgumentException("first must not be negative");
+        }
+        Sort.Order order = parseKeysetOrder(sort);
+        EmployeeCursor cursor = after == null || after.isBlank() ? null : EmployeeCursor.decode(after);
+        if (cursor != null && !cursor.property().equals(order.getProperty())) {
+            throw new IllegalArgumentException("Cursor was issued for sort '" + cursor.property() + "'");
+        }
+
+        // Fetch one extra row to learn whether another page exists
+        List<Employee> rows = repository.findAfter(buildSpec(filter), order, cursor, first + 1);
+        boolean hasNext = rows.size() > first;
+        List<EmployeeEdge> edges = rows.stream()
+                .limit(first)
+                .map(e -> new EmployeeEdge(cursorOf(order.getProperty(), e).encode(), e))
+                .collect(Collectors.toList());
+        return EmployeeConnection.builder()
+                .edges(edges)
+                .pageInfo(PageInfo.builder()
+                        .hasNextPage(hasNext)
+                        .hasPreviousPage(cursor != null)
+                        .startCursor(edges.isEmpty() ? null : edges.get(0).cursor())
+                        .endCursor(edges.isEmpty() ? null : edges.get(edges.size() - 1).cursor())
+                        .build())
+                .build();
+    }
+
+    public static Sort parseSort(String sort) {
         Sort sortObj = Sort.by(Sort.Direction.ASC, "id");
         if (sort != null && !sort.isBlank()) {
             String[] parts = sort.split(",");
@@ -47,23 +201,55 @@ public class EmployeeService {
             }
             sortObj = Sort.by(orders);
         }
+        return sortObj;
+    }
 
-        Pageable pageable = PageRequest.of(page, size, sortObj);
-        Specification<Employee> spec = buildSpec(filter);
-        Page<Employee> p = repository.findAll(spec, pageable);
-        return EmployeePage.builder()
-                .content(p.getContent())
-                .totalElements(p.getTotalElements())
-                .totalPages(p.getTotalPages())
-                .build();
+    private Sort.Order parseKeysetOrder(String sort) {
+        List<Sort.Order> orders = parseSort(sort).toList();
+        if (orders.size() != 1) {
+            throw new IllegalArgumentException("Cursor pagination supports a single sort field, got: " + sort);
+        }
+        Sort.Order order = orders.get(0);
+        if (!KEYSET_PROPERTIES.contains(order.getProperty())) {
+            throw new IllegalArgumentException("Unsupported sort field for cursor pagination: " + order.getProperty());
+        }
+        return order;
+    }
+
+    private static EmployeeCursor cursorOf(String property, Employee e) {
+        Object value = switch (property) {
+            case "name" -> e.getName();
+            case "age" -> e.getAge();
+            case "department" -> e.getDepartment();
+            case "attendance" -> e.getAttendance();
+            default -> e.getId();
+        };
+        return new EmployeeCursor(property, value == null ? null : value.toString(), e.getId());
     }
 
-    private Specification<Employee> buildSpec(EmployeeFilter filter) {
+    /**
+     * Specification for {@code filter}, answered from the in-memory indexes where possible. Index matches are
+     * resolved now, so the spec reflects the data at the time of this call.
+     */
+    public Specification<Employee> buildSpec(EmployeeFilter filter) {
+        // Resolved once per call, not per generated query (page and count share the spec)
+        IndexMatches matches = indexMatches(filter);
         return (root, query, cb) -> {
             if (filter == null) return cb.conjunction();
             List<Predicate> predicates = new ArrayList<>();
-            if (filter.nameContains() != null && !filter.nameContains().isBlank()) {
-                predicates.add(cb.like(cb.lower(root.get("name")), "%" + filter.nameContains().toLowerCase() + "%"));
+            if (matches != null) {
+                predicates.add(matches.ids().isEmpty() ? cb.disjunction() : root.get("id").in(matches.ids()));
+            }
+            if (hasText(filter.nameContains()) && (matches == null || !matches.name())) {
+                predicates.add(cb.like(cb.lower(root.get("name")), "%" + filter.nameContains().toLowerCase(Locale.ROOT) + "%"));
+            }
+            if (hasItems(filter.skillsAny()) && (matches == null || !matches.skillsAny())) {
+                predicates.add(hasAnySkill(root, query, cb, filter.skillsAny()));
+            }
+            if (hasItems(filter.skillsAll()) && (matches == null || !matches.skillsAll())) {
+                for (String skill : filter.skillsAll()) {
+                    predicates.add(hasAnySkill(root, query, cb, List.of(skill)));
+                }
             }
             if (filter.minAge() != null) {
                 predicates.add(cb.greaterThanOrEqualTo(root.get("age"), filter.minAge()));
@@ -78,9 +264,80 @@ public class EmployeeService {
         };
     }
 
+    // exists (select 1 from employee_skills where employee_id = e.id and skill in (...))
+    private static Predicate hasAnySkill(Root<Employee> root, CriteriaQuery<?> query, CriteriaBuilder cb, List<String> skills) {
+        Subquery<Long> sub = query.subquery(Long.class);
+        Root<Employee> e = sub.from(Employee.class);
+        Join<Employee, String> skill = e.join("skills");
+        sub.select(e.get("id")).where(cb.equal(e.get("id"), root.get("id")), skill.in(skills));
+        return cb.exists(sub);
+    }
+
+    /**
+     * Ids satisfying every filter predicate the in-memory indexes can answer, with flags telling which ones
+     * they cover. Null when no index applies or the match set is too large for an IN list; the spec then falls
+     * back to SQL for those predicates.
+     */
+    IndexMatches indexMatches(EmployeeFilter filter) {
+        if (filter == null) {
+            return null;
+        }
+        Roaring64NavigableMap ids = null;
+        boolean name = false, any = false, all = false;
+        if (hasText(filter.nameContains())) {
+            Roaring64NavigableMap m = nameIndex.search(filter.nameContains().toLowerCase(Locale.ROOT));
+            if (m != null) {
+                ids = intersect(ids, m);
+                name = true;
+            }
+        }
+        if (hasItems(filter.skillsAny())) {
+            Roaring64NavigableMap m = skillIndex.anyOf(filter.skillsAny());
+            if (m != null) {
+                ids = intersect(ids, m);
+                any = true;
+            }
+        }
+        if (hasItems(filter.skillsAll())) {
+            Roaring64NavigableMap m = skillIndex.allOf(filter.skillsAll());
+            if (m != null) {
+                ids = intersect(ids, m);
+                all = true;
+            }
+        }
+        if (ids == null || ids.getLongCardinality() > maxIndexCandidates) {
+            return null;
+        }
+        List<Long> idList = LongStream.of(ids.toArray()).boxed().collect(Collectors.toList());
+        return new IndexMatches(idList, name, any, all);
+    }
+
+    private static Roaring64NavigableMap intersect(Roaring64NavigableMap acc, Roaring64NavigableMap m) {
+        if (acc == null) return m;
+        acc.and(m);
+        return acc;
+    }
+
+    private static boolean hasText(String s) {
+        return s != null && !s.isBlank();
+    }
+
+    private static boolean hasItems(List<String> list) {
+        return list != null && !list.isEmpty();
+    }
+
+    record IndexMatches(List<Long> ids, boolean name, boolean skillsAny, boolean skillsAll) {
+    }
+
+    /**
+     * Returns a detached copy of the employee with its skills, served from {@link EmployeeCache} when possible.
+     */
     public Employee getById(Long id) {
-        Optional<Employee> o = repository.findById(id);
-        return o.orElseThrow(() -> new NotFoundException("Employee not found with id: " + id));
+        Employee e = cache.getWithSkills(id, this::loadWithSkills);
+        if (e == null) {
+            throw new NotFoundException("Employee not found with id: " + id);
+        }
+        return e;
     }
 
     @Transactional
@@ -92,31 +349,176 @@ public class EmployeeService {
                 .skills(input.skills())
                 .attendance(input.attendance())
                 .build();
-        return repository.save(e);
+        Employee saved = repository.save(e);
+        eventPublisher.publishEvent(new EmployeeChangedEvent(ChangeType.CREATED, saved.getId(), null, EmployeeSnapshot.withSkills(saved)));
+        return saved;
+    }
+
+    /**
+     * Inserts many employees in one transaction using JDBC batches. Invalid inputs are reported by index and
+     * skipped; the valid ones are still inserted.
+     */
+    @Transactional
+    public BulkInsertResult createEmployees(List<EmployeeInput> inputs) {
+        if (inputs.size() > maxBulkItems) {
+            throw new IllegalArgumentException("At most " + maxBulkItems + " employees can be added at once");
+        }
+        long start = System.nanoTime();
+        List<BulkInsertError> errors = new ArrayList<>();
+        List<Employee> valid = new ArrayList<>(inputs.size());
+        Employee[] byIndex = new Employee[inputs.size()];
+        for (int i = 0; i < inputs.size(); i++) {
+            EmployeeInput input = inputs.get(i);
+            Set<ConstraintViolation<EmployeeInput>> violations = validator.validate(input);
+            if (!violations.isEmpty()) {
+                errors.add(BulkInsertError.builder().index(i).message(describe(violations)).build());
+                continue;
+            }
+            Employee e = toEmployee(input);
+            valid.add(e);
+            byIndex[i] = e;
+        }
+        repository.insertAll(valid, jdbcBatchSize);
+
+        List<Long> ids = new ArrayList<>(inputs.size());
+        for (Employee e : byIndex) {
+            ids.add(e == null ? null : e.getId());
+        }
+        for (Employee e : valid) {
+            eventPublisher.publishEvent(new EmployeeChangedEvent(ChangeType.CREATED, e.getId(), null, EmployeeSnapshot.withSkills(e)));
+        }
+        log.debug("Bulk inserted {} employees ({} rejected) in {} ms", valid.size(), errors.size(),
+                (System.nanoTime() - start) / 1_000_000);
+        return BulkInsertResult.builder().inserted(valid.size()).ids(ids).errors(errors).build();
+    }
+
+    private static Employee toEmployee(EmployeeInput input) {
+        return Employee.builder()
+                .name(input.name())
+                .age(input.age())
+                .department(input.department())
+                .skills(input.skills() == null ? new ArrayList<>() : new ArrayList<>(input.skills()))
+                .attendance(input.attendance())
+                .build();
+    }
+
+    private static String describe(Set<ConstraintViolation<EmployeeInput>> violations) {
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
     }
 
     @Transactional
     public Employee updateEmployee(Long id, EmployeeInput input) {
         Employee existing = repository.findById(id).orElseThrow(() -> new NotFoundException("Employee not found with id: " + id));
+        EmployeeSnapshot before = EmployeeSnapshot.withSkills(existing);
         existing.setName(input.name());
         existing.setAge(input.age());
         existing.setDepartment(input.department());
         existing.setSkills(input.skills());
         existing.setAttendance(input.attendance());
-        return repository.save(existing);
+        // Flushed so the version in the event and the response is the one just written
+        Employee saved = repository.saveAndFlush(existing);
+        eventPublisher.publishEvent(new EmployeeChangedEvent(ChangeType.UPDATED, id, before, EmployeeSnapshot.withSkills(saved)));
+        return saved;
     }
 
+    /**
+     * Applies the non-null fields of {@code patch} with one UPDATE of just those columns, guarded by the
+     * version, instead of loading and saving the entity. The row is read first as a projection: its version
+     * guards the UPDATE, so that read is exactly the before-state the event carries. Skills are only read and
+     * rewritten when the patch replaces them.
+     */
+    @Transactional
+    public Employee patchEmployee(Long id, EmployeePatch patch) {
+        if (!patch.hasColumns() && patch.skills() == null) {
+            throw new IllegalArgumentException("Patch does not change anything");
+        }
+        if (patch.name() != null && patch.name().isBlank()) {
+            throw new IllegalArgumentException("name must not be blank");
+        }
+        Employee current = repository.findProjectedByIdIn(List.of(id), EmployeeRepositoryCustom.COLUMNS).stream()
+                .findFirst()
+                .orElseThrow(() -> new NotFoundException("Employee not found with id: " + id));
+        if (patch.expectedVersion() != null && !patch.expectedVersion().equals(current.getVersion())) {
+            throw new OptimisticLockingFailureException("Employee " + id + " is at version " + current.getVersion()
+                    + ", not " + patch.expectedVersion());
+        }
+        EmployeeSnapshot before;
+        if (patch.skills() != null) {
+            current.setSkills(findSkillsByIds(List.of(id)).getOrDefault(id, new ArrayList<>()));
+            before = EmployeeSnapshot.withSkills(current);
+        } else {
+            before = EmployeeSnapshot.of(current);
+        }
+        if (repository.patch(id, current.getVersion(), patch) == 0) {
+            throw new OptimisticLockingFailureException("Employee " + id + " was modified concurrently");
+        }
+        if (patch.skills() != null) {
+            repository.replaceSkills(id, patch.skills());
+        }
+
+        Employee patched = before.toEmployee();
+        if (patch.name() != null) patched.setName(patch.name());
+        if (patch.age() != null) patched.setAge(patch.age());
+        if (patch.department() != null) patched.setDepartment(patch.department());
+        if (patch.attendance() != null) patched.setAttendance(patch.attendance());
+        if (patch.skills() != null) patched.setSkills(new ArrayList<>(patch.skills()));
+        patched.setVersion(current.getVersion() + 1);
+        // Without a skills change both snapshots leave skills out, which listeners read as unchanged
+        EmployeeSnapshot after = patch.skills() != null ? EmployeeSnapshot.withSkills(patched) : EmployeeSnapshot.of(patched);
+        eventPublisher.publishEvent(new EmployeeChangedEvent(ChangeType.UPDATED, id, before, after));
+        return patched;
+    }
+
+    /**
+     * Deletes the employee and its skills with bulk statements and returns whether it existed. The projected row
+     * and its skills are read first, so the event carries the deleted state and listeners adjust incrementally.
+     */
     @Transactional
     public boolean deleteEmployee(Long id) {
-        // Check existence first
-        if (!repository.existsById(id)) {
-            throw new NotFoundException("Employee not found with id: " + id);
+        while (true) {
+            Employee current = repository.findProjectedByIdIn(List.of(id), EmployeeRepositoryCustom.COLUMNS).stream()
+                    .findFirst()
+                    .orElse(null);
+            if (current == null) {
+                return false;
+            }
+            current.setSkills(findSkillsByIds(List.of(id)).getOrDefault(id, new ArrayList<>()));
+            EmployeeSnapshot before = EmployeeSnapshot.withSkills(current);
+            if (repository.removeById(id, current.getVersion())) {
+                eventPublisher.publishEvent(new EmployeeChangedEvent(ChangeType.DELETED, id, before, null));
+                return true;
+            }
+            // Changed since it was read: read it again, so the event describes the row actually deleted
         }
-        repository.deleteById(id);
-        return true;
     }
 
+    /**
+     * Batch lookup for the employee DataLoader. Its per-request cache is keyed by id and shared between
+     * fields with different selections, so all scalar columns are projected; skills are left to their own loader.
+     */
     public List<Employee> findByIds(List<Long> ids) {
-        return repository.findByIdIn(ids);
+        return new ArrayList<>(cache.getAll(ids, this::loadProjected).values());
+    }
+
+    private List<Employee> loadProjected(Collection<Long> ids) {
+        return repository.findProjectedByIdIn(ids, EmployeeRepositoryCustom.COLUMNS);
+    }
+
+    private List<Employee> loadWithSkills(Collection<Long> ids) {
+        List<Employee> employees = loadProjected(ids);
+        Map<Long, List<String>> skills = findSkillsByIds(List.copyOf(ids));
+        employees.forEach(e -> e.setSkills(skills.getOrDefault(e.getId(), new ArrayList<>())));
+        return employees;
+    }
+
+    public Map<Long, List<String>> findSkillsByIds(List<Long> ids) {
+        Map<Long, List<String>> skills = new HashMap<>();
+        for (Object[] row : repository.findSkillsByEmployeeIdIn(ids)) {
+            skills.computeIfAbsent((Long) row[0], k -> new ArrayList<>()).add((String) row[1]);
+        }
+        return skills;
     }
 }
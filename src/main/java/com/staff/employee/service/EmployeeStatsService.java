@@ -0,0 +1,89 @@
+package com.staff.employee.service;
+
+import com.staff.employee.dto.DepartmentStats;
+import com.staff.employee.dto.EmployeeFilter;
+import com.staff.employee.dto.HistogramBucket;
+import com.staff.employee.dto.SkillStats;
+import com.staff.employee.repository.EmployeeRepository;
+import com.staff.employee.stats.DepartmentTotals;
+import com.staff.employee.stats.WorkforceSummary;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Workforce aggregates. Unfiltered requests are answered from the {@link WorkforceSummary}; filtered ones
+ * (or all of them while the summary is unavailable) are grouped in the database.
+ */
+@Service
+@Slf4j
+@Transactional(readOnly = true)
+public class EmployeeStatsService {
+
+    private final EmployeeRepository repository;
+    private final EmployeeService employeeService;
+    private final WorkforceSummary summary;
+
+    public EmployeeStatsService(EmployeeRepository repository, EmployeeService employeeService, WorkforceSummary summary) {
+        this.repository = repository;
+        this.employeeService = employeeService;
+        this.summary = summary;
+    }
+
+    public List<DepartmentStats> departmentStats(EmployeeFilter filter) {
+        if (EmployeeFilter.isEmpty(filter)) {
+            List<DepartmentStats> stats = summary.departmentStats();
+            if (stats != null) return stats;
+        }
+        return repository.departmentTotals(employeeService.buildSpec(filter)).stream()
+                .map(DepartmentTotals::toStats)
+                .collect(Collectors.toList());
+    }
+
+    public List<SkillStats> skillStats(EmployeeFilter filter) {
+        if (EmployeeFilter.isEmpty(filter)) {
+            List<SkillStats> stats = summary.skillStats();
+            if (stats != null) return stats;
+        }
+        return repository.skillStats(employeeService.buildSpec(filter));
+    }
+
+    public List<HistogramBucket> ageHistogram(EmployeeFilter filter, int bucketSize) {
+        checkBucketSize(bucketSize);
+        Map<Integer, Long> counts = EmployeeFilter.isEmpty(filter) ? summary.ageCounts() : null;
+        if (counts == null) {
+            counts = repository.countByValue(employeeService.buildSpec(filter), "age");
+        }
+        return histogram(counts, bucketSize);
+    }
+
+    public List<HistogramBucket> attendanceHistogram(EmployeeFilter filter, int bucketSize) {
+        checkBucketSize(bucketSize);
+        Map<Integer, Long> counts = EmployeeFilter.isEmpty(filter) ? summary.attendanceCounts() : null;
+        if (counts == null) {
+            counts = repository.countByValue(employeeService.buildSpec(filter), "attendance");
+        }
+        return histogram(counts, bucketSize);
+    }
+
+    private static void checkBucketSize(int bucketSize) {
+        if (bucketSize < 1) {
+            throw new IllegalArgumentException("Bucket size must not be less than one");
+        }
+    }
+
+    // Folds per-value counts into [k * size, (k + 1) * size) buckets; empty buckets are left out
+    private static List<HistogramBucket> histogram(Map<Integer, Long> counts, int bucketSize) {
+        TreeMap<Integer, Long> buckets = new TreeMap<>();
+        counts.forEach((value, count) -> buckets.merge(Math.floorDiv(value, bucketSize) * bucketSize, count, Long::sum));
+        List<HistogramBucket> result = new ArrayList<>(buckets.size());
+        buckets.forEach((from, count) -> result.add(HistogramBucket.builder().from(from).to(from + bucketSize).count(count).build()));
+        return result;
+    }
+}
@@ -0,0 +1,45 @@
+package com.staff.employee.stats;
+
+import com.staff.employee.dto.DepartmentStats;
+import com.staff.employee.model.EmployeeSnapshot;
+
+/**
+ * Additive per-department running totals. Unlike averages they can be adjusted one employee at a time, so
+ * {@link WorkforceSummary} keeps these and derives {@link DepartmentStats} on read.
+ */
+public record DepartmentTotals(
+        String department,
+        long headcount,
+        long ageCount,
+        long ageSum,
+        long attendanceCount,
+        long attendanceSum
+) {
+
+    public static DepartmentTotals empty(String department) {
+        return new DepartmentTotals(department, 0, 0, 0, 0, 0);
+    }
+
+    /**
+     * These totals with {@code e} added ({@code sign} 1) or removed ({@code sign} -1).
+     */
+    public DepartmentTotals plus(EmployeeSnapshot e, int sign) {
+        Integer age = e.age();
+        Integer attendance = e.attendance();
+        return new DepartmentTotals(department,
+                headcount + sign,
+                ageCount + (age == null ? 0 : sign),
+                ageSum + (age == null ? 0 : (long) sign * age),
+                attendanceCount + (attendance == null ? 0 : sign),
+                attendanceSum + (attendance == null ? 0 : (long) sign * attendance));
+    }
+
+    public DepartmentStats toStats() {
+        return DepartmentStats.builder()
+                .department(department)
+                .headcount(headcount)
+                .averageAge(ageCount == 0 ? null : (double) ageSum / ageCount)
+                .averageAttendance(attendanceCount == 0 ? null : (double) attendanceSum / attendanceCount)
+                .build();
+    }
+}
@@ -0,0 +1,215 @@
+package com.staff.employee.stats;
+
+import com.staff.employee.config.ConsistentReads;
+import com.staff.employee.dto.DepartmentStats;
+import com.staff.employee.dto.SkillStats;
+import com.staff.employee.event.EmployeeChangedEvent;
+import com.staff.employee.event.EmployeeChangedEvent.ChangeType;
+import com.staff.employee.model.EmployeeSnapshot;
+import com.staff.employee.repository.EmployeeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Materialized whole-workforce aggregates: totals per department and headcounts per skill, age and
+ * attendance value. Built once from grouped queries, then adjusted per committed change by removing the
+ * before-state and adding the after-state, so unfiltered dashboards cost O(groups) instead of a table scan.
+ * Only creates come without a before-state; an update or delete without one would mark the summary stale,
+ * and the next read would rebuild it.
+ * Guarded by a lock that is never held across a query, so committing changes never wait on a rebuild.
+ */
+@Component
+@Slf4j
+public class WorkforceSummary {
+
+    private static final Comparator<String> NULLS_FIRST = Comparator.nullsFirst(Comparator.naturalOrder());
+
+    private final EmployeeRepository repository;
+    private final boolean enabled;
+    private final Map<String, DepartmentTotals> departments = new HashMap<>();
+    private final Map<String, Long> skills = new HashMap<>();
+    private final Map<Integer, Long> ages = new HashMap<>();
+    private final Map<Integer, Long> attendance = new HashMap<>();
+    private boolean ready;
+    private boolean stale;
+    // Events seen so far; a rebuild that overlapped one is not installed
+    private long changes;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public WorkforceSummary(EmployeeRepository repository, @Value("${app.stats.summary.enabled:true}") boolean enabled) {
+        this.repository = repository;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Rebuilds the totals from grouped queries. The queries run outside the lock so committed changes are not
+     * held up behind them; a change committed meanwhile may or may not be in the results, so, like
+     * {@code EmployeeCache} loads, the result is only installed if no event arrived since the stamp was taken.
+     * Otherwise the summary stays stale and the next read tries again.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        long stamp;
+        lock.lock();
+        try {
+            stamp = changes;
+        } finally {
+            lock.unlock();
+        }
+        Map<String, DepartmentTotals> builtDepartments = new HashMap<>();
+        Map<String, Long> builtSkills = new HashMap<>();
+        Map<Integer, Long> builtAges = new HashMap<>();
+        Map<Integer, Long> builtAttendance = new HashMap<>();
+        // Events keep the summary current from here on, so it must not start from a lagging replica
+        ConsistentReads.run(() -> {
+            repository.departmentTotals(null).forEach(t -> builtDepartments.put(t.department(), t));
+            repository.skillStats(null).forEach(s -> builtSkills.put(s.skill(), s.headcount()));
+            builtAges.putAll(repository.countByValue(null, "age"));
+            builtAttendance.putAll(repository.countByValue(null, "attendance"));
+        });
+        lock.lock();
+        try {
+            ready = true;
+            if (changes != stamp) {
+                stale = true;
+                log.info("Workforce summary rebuild overlapped a change; keeping it stale until the next read");
+                return;
+            }
+            replace(departments, builtDepartments);
+            replace(skills, builtSkills);
+            replace(ages, builtAges);
+            replace(attendance, builtAttendance);
+            stale = false;
+            log.info("Workforce summary built: {} departments, {} skills in {} ms", departments.size(), skills.size(),
+                    System.currentTimeMillis() - start);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Per-department stats ordered by department, or null when the summary is not available.
+     */
+    public List<DepartmentStats> departmentStats() {
+        return read(() -> departments.values().stream()
+                .sorted(Comparator.comparing(DepartmentTotals::department, NULLS_FIRST))
+                .map(DepartmentTotals::toStats)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Per-skill headcounts ordered by skill, or null when the summary is not available.
+     */
+    public List<SkillStats> skillStats() {
+        return read(() -> skills.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(e -> SkillStats.builder().skill(e.getKey()).headcount(e.getValue()).build())
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Employees per non-null age, or null when the summary is not available.
+     */
+    public Map<Integer, Long> ageCounts() {
+        return read(() -> Map.copyOf(ages));
+    }
+
+    /**
+     * Employees per non-null attendance value, or null when the summary is not available.
+     */
+    public Map<Integer, Long> attendanceCounts() {
+        return read(() -> Map.copyOf(attendance));
+    }
+
+    @TransactionalEventListener
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        lock.lock();
+        try {
+            changes++;
+            if (!ready || stale) {
+                return;
+            }
+            if (event.type() != ChangeType.CREATED && event.before() == null) {
+                stale = true;
+                return;
+            }
+            if (event.before() != null) {
+                apply(event.before(), -1);
+            }
+            if (event.after() != null) {
+                apply(event.after(), 1);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Runs {@code view} over current totals, rebuilding first if they are stale; null if they are still not
+     * current afterwards. The rebuild runs without the lock held, see {@link #build()}.
+     */
+    private <T> T read(Supplier<T> view) {
+        lock.lock();
+        try {
+            if (!ready) {
+                return null;
+            }
+            if (!stale) {
+                return view.get();
+            }
+        } finally {
+            lock.unlock();
+        }
+        build();
+        lock.lock();
+        try {
+            return stale ? null : view.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static <K, V> void replace(Map<K, V> target, Map<K, V> source) {
+        target.clear();
+        target.putAll(source);
+    }
+
+    private void apply(EmployeeSnapshot e, int sign) {
+        DepartmentTotals totals = departments.getOrDefault(e.department(), DepartmentTotals.empty(e.department())).plus(e, sign);
+        if (totals.headcount() == 0) {
+            departments.remove(e.department());
+        } else {
+            departments.put(e.department(), totals);
+        }
+        if (e.skills() != null) {
+            // Skills are a list; count each distinct skill once per employee, as the grouped query does
+            e.skills().stream().distinct().forEach(skill -> adjust(skills, skill, sign));
+        }
+        if (e.age() != null) {
+            adjust(ages, e.age(), sign);
+        }
+        if (e.attendance() != null) {
+            adjust(attendance, e.attendance(), sign);
+        }
+    }
+
+    private static <K> void adjust(Map<K, Long> counts, K key, int sign) {
+        counts.merge(key, (long) sign, (a, b) -> a + b == 0 ? null : a + b);
+    }
+}
@@ -0,0 +1,121 @@
+package com.staff.employee.cache;
+
+import com.staff.employee.event.EmployeeChangedEvent;
+import com.staff.employee.event.EmployeeChangedEvent.ChangeType;
+import com.staff.employee.model.Employee;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmployeeCacheTest {
+
+    private final EmployeeCache cache = new EmployeeCache(new SimpleMeterRegistry(), true, 100, 300);
+
+    @Test
+    void servesLoadedEmployeesFromTheCache() {
+        AtomicInteger loads = new AtomicInteger();
+        cache.getAll(List.of(1L), ids -> { loads.incrementAndGet(); return List.of(employee(1L, "Alice")); });
+        Employee cached = cache.getAll(List.of(1L), ids -> { loads.incrementAndGet(); return List.of(); }).get(1L);
+
+        assertThat(cached.getName()).isEqualTo("Alice");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void invalidatesOnCommittedChange() {
+        cache.getAll(List.of(1L), ids -> List.of(employee(1L, "Alice")));
+        cache.onEmployeeChanged(updated(1L));
+
+        assertThat(cache.getAll(List.of(1L), ids -> List.of(employee(1L, "Alicia"))).get(1L).getName()).isEqualTo("Alicia");
+    }
+
+    // The loader reads the row, the mutation commits and invalidates, and only then does the load finish
+    @Test
+    void doesNotKeepARowLoadedBeforeACommitThatInvalidatedItMidLoad() throws Exception {
+        CountDownLatch read = new CountDownLatch(1);
+        CountDownLatch committed = new CountDownLatch(1);
+        CompletableFuture<Employee> load = CompletableFuture.supplyAsync(() -> cache.getAll(List.of(1L), ids -> {
+            List<Employee> stale = List.of(employee(1L, "Alice"));
+            read.countDown();
+            await(committed);
+            return stale;
+        }).get(1L));
+
+        assertThat(read.await(5, TimeUnit.SECONDS)).isTrue();
+        cache.onEmployeeChanged(updated(1L));
+        committed.countDown();
+
+        assertThat(load.get(5, TimeUnit.SECONDS).getName()).isEqualTo("Alice");
+        assertThat(cache.getAll(List.of(1L), ids -> List.of(employee(1L, "Alicia"))).get(1L).getName()).isEqualTo("Alicia");
+    }
+
+    @Test
+    void keepsOtherRowsOfTheSameLoad() {
+        cache.getAll(List.of(1L, 2L), ids -> {
+            cache.onEmployeeChanged(updated(1L));
+            return List.of(employee(1L, "Alice"), employee(2L, "Bob"));
+        });
+        AtomicInteger reloaded = new AtomicInteger();
+        cache.getAll(List.of(1L, 2L), ids -> {
+            reloaded.addAndGet(ids.size());
+            return List.of(employee(1L, "Alicia"));
+        });
+
+        assertThat(reloaded).hasValue(1);
+    }
+
+    @Test
+    void servesSkillsFromTheCacheUntilTheEmployeeChanges() {
+        AtomicInteger loads = new AtomicInteger();
+        cache.getWithSkills(1L, ids -> { loads.incrementAndGet(); return List.of(employee(1L, "Alice", "Java")); });
+        Employee cached = cache.getWithSkills(1L, ids -> { loads.incrementAndGet(); return List.of(); });
+
+        assertThat(cached.getSkills()).containsExactly("Java");
+        assertThat(loads).hasValue(1);
+
+        cache.onEmployeeChanged(updated(1L));
+        assertThat(cache.getWithSkills(1L, ids -> List.of(employee(1L, "Alice", "Go"))).getSkills()).containsExactly("Go");
+    }
+
+    @Test
+    void reloadsAnEntryCachedWithoutSkills() {
+        cache.getAll(List.of(1L), ids -> List.of(employee(1L, "Alice")));
+        AtomicInteger loads = new AtomicInteger();
+        Employee loaded = cache.getWithSkills(1L, ids -> { loads.incrementAndGet(); return List.of(employee(1L, "Alice", "Java")); });
+
+        assertThat(loaded.getSkills()).containsExactly("Java");
+        assertThat(loads).hasValue(1);
+        assertThat(cache.getAll(List.of(1L), ids -> List.of()).get(1L).getName()).isEqualTo("Alice");
+    }
+
+    @Test
+    void answersNullForAMissingEmployee() {
+        assertThat(cache.getWithSkills(1L, ids -> List.of())).isNull();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static EmployeeChangedEvent updated(long id) {
+        return new EmployeeChangedEvent(ChangeType.UPDATED, id, null, null);
+    }
+
+    private static Employee employee(long id, String name, String... skills) {
+        return Employee.builder().id(id).name(name).age(30).department("IT").attendance(90).version(0L)
+                .skills(new ArrayList<>(List.of(skills))).build();
+    }
+}
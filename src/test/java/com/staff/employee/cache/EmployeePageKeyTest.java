@@ -0,0 +1,51 @@
+package com.staff.employee.cache;
+
+import com.staff.employee.dto.EmployeeFilter;
+import com.staff.employee.dto.TotalsMode;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmployeePageKeyTest {
+
+    @Test
+    void equivalentRequestsShareADigest() {
+        EmployeePageKey a = key(EmployeeFilter.builder().nameContains("Ana").department(" ").skillsAny(List.of("Go", "Java", "Go")).build(),
+                List.of("name", "id"));
+        EmployeePageKey b = key(EmployeeFilter.builder().nameContains("ana").skillsAny(List.of("Java", "Go")).build(),
+                List.of("id", "name"));
+
+        assertThat(a).isEqualTo(b);
+        assertThat(EmployeePageCache.digest(a)).isEqualTo(EmployeePageCache.digest(b));
+    }
+
+    @Test
+    void keysWithEqualHashCodesGetDifferentDigests() {
+        // "Aa" and "BB" share a String hash code, and so do the two keys
+        EmployeePageKey a = key(EmployeeFilter.builder().department("Aa").build(), List.of("id"));
+        EmployeePageKey b = key(EmployeeFilter.builder().department("BB").build(), List.of("id"));
+
+        assertThat(a.hashCode()).isEqualTo(b.hashCode());
+        assertThat(EmployeePageCache.digest(a)).isNotEqualTo(EmployeePageCache.digest(b));
+    }
+
+    @Test
+    void valuesCannotSpillIntoTheirNeighbours() {
+        EmployeePageKey a = key(EmployeeFilter.builder().skillsAny(List.of("Go", "Java")).build(), List.of("id"));
+        EmployeePageKey b = key(EmployeeFilter.builder().skillsAny(List.of("Go")).skillsAll(List.of("Java")).build(), List.of("id"));
+
+        assertThat(a.canonicalForm()).isNotEqualTo(b.canonicalForm());
+    }
+
+    @Test
+    void digestIsAtLeast64Bits() {
+        assertThat(EmployeePageCache.digest(key(null, List.of("id")))).hasSizeGreaterThanOrEqualTo(16).matches("[0-9a-f]+");
+    }
+
+    private static EmployeePageKey key(EmployeeFilter filter, List<String> columns) {
+        return EmployeePageKey.of(filter, Sort.by("name"), 0, 20, TotalsMode.EXACT, columns, List.of("ROLE_ADMIN"));
+    }
+}
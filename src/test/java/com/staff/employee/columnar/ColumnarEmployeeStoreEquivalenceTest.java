@@ -0,0 +1,142 @@
+package com.staff.employee.columnar;
+
+import com.staff.employee.dto.EmployeeFilter;
+import com.staff.employee.dto.EmployeeInput;
+import com.staff.employee.dto.EmployeePatch;
+import com.staff.employee.model.Employee;
+import com.staff.employee.repository.EmployeeRepository;
+import com.staff.employee.repository.EmployeeRepositoryCustom;
+import com.staff.employee.seed.EmployeeGenerator;
+import com.staff.employee.service.EmployeeService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link ColumnarEmployeeStore} against the JPA path over a grid of filters, sorts, pages and projections: first
+ * on a snapshot built from the database, then after a round of creates, patches, updates and deletes applied
+ * through change events. Sorts end with id because SQL leaves the order of ties open.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:columnar-equivalence;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "app.query.columnar.enabled=true"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ColumnarEmployeeStoreEquivalenceTest {
+
+    private static final List<EmployeeFilter> FILTERS = Arrays.asList(
+            null,
+            EmployeeFilter.builder().build(),
+            EmployeeFilter.builder().department("IT").minAge(30).maxAge(40).build(),
+            EmployeeFilter.builder().maxAge(25).build(),
+            EmployeeFilter.builder().minAge(60).department("Sales").build(),
+            EmployeeFilter.builder().minAge(50).maxAge(40).build(),
+            EmployeeFilter.builder().nameContains("ana").build(),
+            EmployeeFilter.builder().nameContains("ANA ").build(),
+            EmployeeFilter.builder().nameContains("nobody").build(),
+            EmployeeFilter.builder().department("Nowhere").build(),
+            EmployeeFilter.builder().skillsAny(List.of("Rust", "Go")).build(),
+            EmployeeFilter.builder().skillsAll(List.of("Java", "SQL")).build(),
+            EmployeeFilter.builder().skillsAny(List.of("Go", "Kubernetes")).skillsAll(List.of("Docker")).build(),
+            EmployeeFilter.builder().nameContains("li").department("IT").minAge(30).skillsAny(List.of("Java")).build());
+    private static final List<String> SORTS = List.of("id", "-id", "-age,id", "name,id", "-name,-id",
+            "department,-attendance,id", "attendance,id", "-attendance,id", "version,-age,id");
+    // (page, size)
+    private static final int[][] PAGES = {{0, 20}, {3, 50}, {40, 25}, {1000, 20}};
+    private static final List<Set<String>> PROJECTIONS = List.of(EmployeeRepositoryCustom.COLUMNS, Set.of("id", "name"));
+
+    @Autowired
+    private EmployeeService service;
+
+    @Autowired
+    private EmployeeRepository repository;
+
+    @Autowired
+    private ColumnarEmployeeStore store;
+
+    private boolean mutated;
+
+    @BeforeAll
+    void seed() {
+        EmployeeGenerator generator = new EmployeeGenerator(42);
+        List<EmployeeInput> inputs = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) inputs.add(generator.nextInput());
+        service.createEmployees(inputs);
+        // From the database, as at startup; the mutation round then exercises the change events
+        store.build();
+    }
+
+    static Stream<Arguments> queries() {
+        List<Arguments> queries = new ArrayList<>();
+        for (String state : List.of("built", "after mutations")) {
+            for (EmployeeFilter filter : FILTERS) {
+                for (String sort : SORTS) {
+                    for (int[] page : PAGES) {
+                        for (Set<String> columns : PROJECTIONS) {
+                            queries.add(Arguments.of(state, filter, sort, page[0], page[1], columns));
+                        }
+                    }
+                }
+            }
+        }
+        return queries.stream();
+    }
+
+    @ParameterizedTest(name = "{0}: {1} sort={2} page={3}x{4} columns={5}")
+    @MethodSource("queries")
+    void matchesSql(String state, EmployeeFilter filter, String sort, int page, int size, Set<String> columns) {
+        if (state.equals("after mutations") && !mutated) {
+            mutate();
+            mutated = true;
+        }
+        Specification<Employee> spec = service.buildSpec(filter);
+        Sort order = EmployeeService.parseSort(sort);
+        long offset = (long) page * size;
+
+        ColumnarEmployeeStore.Range actual = store.findRange(filter, order, offset, size, columns);
+
+        assertThat(actual).as("columnar snapshot declined the query").isNotNull();
+        assertThat(actual.matches()).isEqualTo(repository.count(spec));
+        assertThat(describe(actual.rows())).containsExactlyElementsOf(describe(repository.findRange(spec, order, offset, size, columns)));
+    }
+
+    // Every kind of change event the snapshot applies, including null columns
+    private void mutate() {
+        EmployeeGenerator generator = new EmployeeGenerator(7);
+        List<EmployeeInput> inputs = new ArrayList<>();
+        for (int i = 0; i < 200; i++) inputs.add(generator.nextInput());
+        service.createEmployees(inputs);
+        EmployeeInput first = generator.nextInput();
+        service.createEmployee(EmployeeInput.builder().name(first.name()).age(first.age()).skills(List.of("Go")).build());
+        for (long id = 1; id <= 300; id += 3) {
+            service.patchEmployee(id, EmployeePatch.builder().age((int) (id % 50) + 18).name("Patched " + id).build());
+        }
+        for (long id = 2; id <= 300; id += 7) {
+            service.updateEmployee(id, generator.nextInput());
+        }
+        for (long id = 5; id <= 500; id += 11) {
+            service.deleteEmployee(id);
+        }
+    }
+
+    private static List<String> describe(List<Employee> employees) {
+        return employees.stream()
+                .map(e -> e.getId() + "|" + e.getName() + "|" + e.getAge() + "|" + e.getDepartment() + "|" + e.getAttendance() + "|" + e.getVersion())
+                .toList();
+    }
+}
@@ -0,0 +1,52 @@
+package com.staff.employee.config;
+
+import graphql.ExecutionInput;
+import graphql.GraphqlErrorBuilder;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.parser.Parser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachingDocumentProviderTest {
+
+    private final CachingDocumentProvider provider = new CachingDocumentProvider(new SimpleMeterRegistry(), 100, true, 100);
+    private final AtomicInteger parses = new AtomicInteger();
+
+    @Test
+    void parsesEachQueryTextOnce() {
+        ExecutionInput input = ExecutionInput.newExecutionInput("{ __typename }").build();
+
+        PreparsedDocumentEntry first = provider.getDocumentAsync(input, parse()).join();
+        PreparsedDocumentEntry second = provider.getDocumentAsync(input, parse()).join();
+
+        assertThat(second).isSameAs(first);
+        assertThat(parses).hasValue(1);
+    }
+
+    @Test
+    void doesNotCacheDocumentsWithErrors() {
+        ExecutionInput input = ExecutionInput.newExecutionInput("{ nope }").build();
+        Function<ExecutionInput, PreparsedDocumentEntry> invalid = in -> {
+            parses.incrementAndGet();
+            return new PreparsedDocumentEntry(List.of(GraphqlErrorBuilder.newError().message("invalid").build()));
+        };
+
+        provider.getDocumentAsync(input, invalid).join();
+        provider.getDocumentAsync(input, invalid).join();
+
+        assertThat(parses).hasValue(2);
+    }
+
+    private Function<ExecutionInput, PreparsedDocumentEntry> parse() {
+        return in -> {
+            parses.incrementAndGet();
+            return new PreparsedDocumentEntry(Parser.parse(in.getQuery()));
+        };
+    }
+}
@@ -0,0 +1,80 @@
+package com.staff.employee.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Apollo automatic persisted queries over HTTP: a hash-only POST, which Spring GraphQL alone would reject for
+ * its missing query.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:persisted-query-http;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureMockMvc
+class PersistedQueryHttpTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    void unknownHashAsksForTheQueryText() throws Exception {
+        String query = "query Unknown { __typename }";
+
+        graphQl(hashOnly(sha256(query)))
+                .andExpect(jsonPath("$.errors[0].message").value("PersistedQueryNotFound"));
+    }
+
+    @Test
+    void registeredHashRunsWithoutTheQueryText() throws Exception {
+        String query = "query Registered { __typename }";
+        String hash = sha256(query);
+
+        graphQl("{\"query\":\"" + query + "\",\"extensions\":" + extensions(hash) + "}")
+                .andExpect(jsonPath("$.data.__typename").value("Query"));
+        graphQl(hashOnly(hash))
+                .andExpect(jsonPath("$.errors").doesNotExist())
+                .andExpect(jsonPath("$.data.__typename").value("Query"));
+    }
+
+    @Test
+    void plainQueriesAreUntouched() throws Exception {
+        graphQl("{\"query\":\"{ __typename }\"}")
+                .andExpect(jsonPath("$.data.__typename").value("Query"));
+    }
+
+    private ResultActions graphQl(String body) throws Exception {
+        MvcResult started = mvc.perform(post("/graphql").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andReturn();
+        return mvc.perform(asyncDispatch(started)).andExpect(status().isOk());
+    }
+
+    private static String hashOnly(String hash) {
+        return "{\"extensions\":" + extensions(hash) + "}";
+    }
+
+    private static String extensions(String hash) {
+        return "{\"persistedQuery\":{\"version\":1,\"sha256Hash\":\"" + hash + "\"}}";
+    }
+
+    private static String sha256(String query) throws NoSuchAlgorithmException {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(query.getBytes(StandardCharsets.UTF_8)));
+    }
+}
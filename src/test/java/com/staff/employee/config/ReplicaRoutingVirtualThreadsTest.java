@@ -0,0 +1,59 @@
+package com.staff.employee.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Replica routing and virtual-thread mode together: only the primary DataSource may be bounded, with permits
+ * for the primary and replica pools combined.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:replica-vt-primary;DB_CLOSE_DELAY=-1",
+        "app.virtual-threads.enabled=true",
+        "app.datasource.replicas.enabled=true",
+        "app.datasource.replicas.urls=jdbc:h2:mem:replica-vt-1;DB_CLOSE_DELAY=-1,jdbc:h2:mem:replica-vt-2;DB_CLOSE_DELAY=-1",
+        "app.datasource.replicas.pool-size=4",
+        "spring.datasource.hikari.maximum-pool-size=6"
+})
+class ReplicaRoutingVirtualThreadsTest {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private ReplicaRoutingDataSource routing;
+
+    @Test
+    void startsWithTheRoutingDataSourceInjectableByType() {
+        assertThat(context.getBean(ReplicaRoutingDataSource.class)).isSameAs(routing);
+        DataSource dataSource = context.getBean(BoundedDataSourcePostProcessor.BEAN_NAME, DataSource.class);
+        if (VirtualThreads.available()) {
+            assertThat(dataSource).isInstanceOf(BoundedDataSource.class);
+            assertThat(((BoundedDataSource) dataSource).availablePermits()).isEqualTo(6 + 2 * 4);
+        }
+    }
+
+    // What the post-processor does on a Java 21 runtime, whatever JVM runs the test
+    @Test
+    void boundsOnlyThePrimaryDataSourceByTotalCapacity() {
+        @SuppressWarnings("unchecked")
+        BoundedDataSourcePostProcessor postProcessor = new BoundedDataSourcePostProcessor(mock(ObjectProvider.class), 0, 1000, true);
+        DataSource primary = context.getBean(BoundedDataSourcePostProcessor.BEAN_NAME, DataSource.class);
+        DataSource unwrapped = primary instanceof BoundedDataSource bounded ? bounded.getTargetDataSource() : primary;
+
+        assertThat(postProcessor.postProcessAfterInitialization(routing, "replicaRoutingDataSource")).isSameAs(routing);
+        assertThat(postProcessor.postProcessAfterInitialization(routing.primary(), "primary")).isSameAs(routing.primary());
+        Object wrapped = postProcessor.postProcessAfterInitialization(unwrapped, BoundedDataSourcePostProcessor.BEAN_NAME);
+        assertThat(wrapped).isInstanceOf(BoundedDataSource.class);
+        assertThat(((BoundedDataSource) wrapped).availablePermits()).isEqualTo(6 + 2 * 4);
+        assertThat(postProcessor.postProcessAfterInitialization(wrapped, BoundedDataSourcePostProcessor.BEAN_NAME)).isSameAs(wrapped);
+    }
+}
@@ -0,0 +1,65 @@
+package com.staff.employee.config;
+
+import graphql.GraphQLContext;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SqlStatementCounterTest {
+
+    private final SqlStatementCounter inspector = new SqlStatementCounter();
+
+    @Test
+    void countsOnlyInsideAScope() {
+        AtomicInteger counter = new AtomicInteger();
+        inspector.inspect("select 1");
+        try (SqlStatementCounter.Scope ignored = SqlStatementCounter.countInto(counter)) {
+            inspector.inspect("select 2");
+            inspector.inspect("select 3");
+        }
+        inspector.inspect("select 4");
+
+        assertThat(counter).hasValue(2);
+    }
+
+    @Test
+    void nestedScopesRestoreTheOuterCounter() {
+        AtomicInteger outer = new AtomicInteger();
+        AtomicInteger inner = new AtomicInteger();
+        try (SqlStatementCounter.Scope ignored = SqlStatementCounter.countInto(outer)) {
+            try (SqlStatementCounter.Scope nested = SqlStatementCounter.countInto(inner)) {
+                inspector.inspect("select 1");
+            }
+            inspector.inspect("select 2");
+        }
+
+        assertThat(outer).hasValue(1);
+        assertThat(inner).hasValue(1);
+    }
+
+    @Test
+    void aFailingScopeLeavesNothingOnTheThread() {
+        AtomicInteger counter = new AtomicInteger();
+        assertThatThrownBy(() -> {
+            try (SqlStatementCounter.Scope ignored = SqlStatementCounter.countInto(counter)) {
+                throw new IllegalStateException("boom");
+            }
+        }).isInstanceOf(IllegalStateException.class);
+        inspector.inspect("select 1");
+
+        assertThat(counter).hasValue(0);
+    }
+
+    @Test
+    void findsTheRequestCounterInItsContext() {
+        GraphQLContext context = GraphQLContext.newContext().build();
+        assertThat(SqlStatementCounter.of(context)).isNull();
+
+        AtomicInteger counter = SqlStatementCounter.start(context);
+
+        assertThat(SqlStatementCounter.of(context)).isSameAs(counter);
+    }
+}
@@ -0,0 +1,74 @@
+package com.staff.employee.controller;
+
+import com.staff.employee.dto.EmployeeInput;
+import com.staff.employee.service.EmployeeService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.graphql.server.WebGraphQlHandler;
+import org.springframework.graphql.test.tester.WebGraphQlTester;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+
+/**
+ * Employee versions travel as the 64-bit Long scalar, both as a field and as the patch's expectedVersion.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:employee-version;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false"
+})
+class EmployeeVersionTest {
+
+    private static final String PATCH = """
+            mutation Patch($id: ID!, $version: Long) {
+              patchEmployee(id: $id, patch: {age: 41, expectedVersion: $version}) { age version }
+            }""";
+
+    @Autowired
+    private WebGraphQlHandler handler;
+
+    @Autowired
+    private EmployeeService service;
+
+    private WebGraphQlTester tester;
+    private long id;
+
+    @BeforeEach
+    void createEmployee() {
+        tester = WebGraphQlTester.create(handler);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "admin", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+        id = service.createEmployee(EmployeeInput.builder().name("Ana").age(40).department("IT").build()).getId();
+    }
+
+    @AfterEach
+    void logout() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void patchAppliesAtTheVersionRead() {
+        Long version = tester.document("query Read($id: ID!) { employee(id: $id) { version } }")
+                .variable("id", id)
+                .execute()
+                .path("employee.version").entity(Long.class).get();
+
+        tester.document(PATCH).variable("id", id).variable("version", version)
+                .execute()
+                .path("patchEmployee.age").entity(Integer.class).isEqualTo(41)
+                .path("patchEmployee.version").entity(Long.class).isEqualTo(version + 1);
+    }
+
+    @Test
+    void patchIsRejectedAtAStaleVersion() {
+        tester.document(PATCH).variable("id", id).variable("version", 5_000_000_000L)
+                .execute()
+                .errors().expect(error -> true).verify()
+                .path("patchEmployee").valueIsNull();
+    }
+}
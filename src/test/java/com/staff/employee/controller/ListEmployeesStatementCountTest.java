@@ -0,0 +1,99 @@
+package com.staff.employee.controller;
+
+import com.staff.employee.dto.EmployeeInput;
+import com.staff.employee.repository.EmployeeRepository;
+import com.staff.employee.seed.EmployeeGenerator;
+import com.staff.employee.service.EmployeeService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.graphql.server.WebGraphQlHandler;
+import org.springframework.graphql.test.tester.WebGraphQlTester;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.junit.jupiter.api.AfterEach;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * SQL statements per listEmployees request, as recorded in the {@code graphql.request.sql} metric: the page itself, the count only when totals are selected, and one
+ * batched skills query for the whole page only when skills are selected.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:list-statement-count;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "app.cache.pages.enabled=false"
+})
+class ListEmployeesStatementCountTest {
+
+    @Autowired
+    private WebGraphQlHandler handler;
+
+    @Autowired
+    private EmployeeService service;
+
+    @Autowired
+    private EmployeeRepository repository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private WebGraphQlTester tester;
+
+    @BeforeEach
+    void seed() {
+        tester = WebGraphQlTester.create(handler);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "admin", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+        if (repository.count() < 200) {
+            EmployeeGenerator generator = new EmployeeGenerator(3);
+            List<EmployeeInput> inputs = new ArrayList<>();
+            for (int i = 0; i < 200; i++) inputs.add(generator.nextInput());
+            service.createEmployees(inputs);
+        }
+    }
+
+    @AfterEach
+    void logout() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void pageWithoutTotals() {
+        assertThat(statements("content { id name age }")).isEqualTo(1);
+    }
+
+    @Test
+    void pageWithExactTotals() {
+        assertThat(statements("content { id name age } totalElements totalPages")).isEqualTo(2);
+    }
+
+    @Test
+    void pageWithSkillsCostsOneSkillsQuery() {
+        assertThat(statements("content { id name skills }")).isEqualTo(2);
+    }
+
+    @Test
+    void pageWithSkillsAndTotals() {
+        assertThat(statements("content { id name skills } totalElements")).isEqualTo(3);
+    }
+
+    private int statements(String selection) {
+        DistributionSummary sql = meterRegistry.get("graphql.request.sql").summary();
+        long requests = sql.count();
+        double before = sql.totalAmount();
+        tester.document("{ listEmployees(page: 1, size: 100, sort: \"name\") { " + selection + " } }")
+                .execute()
+                .errors().verify()
+                .path("listEmployees.content").entityList(Object.class).hasSize(100);
+        assertThat(sql.count()).isEqualTo(requests + 1);
+        return (int) (sql.totalAmount() - before);
+    }
+}
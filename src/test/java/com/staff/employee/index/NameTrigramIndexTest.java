@@ -0,0 +1,114 @@
+package com.staff.employee.index;
+
+import com.staff.employee.event.EmployeeChangedEvent;
+import com.staff.employee.event.EmployeeChangedEvent.ChangeType;
+import com.staff.employee.model.EmployeeSnapshot;
+import com.staff.employee.repository.EmployeeRepository;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class NameTrigramIndexTest {
+
+    private final EmployeeRepository repository = mock(EmployeeRepository.class);
+    private final NameTrigramIndex index = new NameTrigramIndex(repository, true);
+
+    @Test
+    void cannotAnswerBeforeItIsBuilt() {
+        assertThat(index.search("ana")).isNull();
+    }
+
+    @Test
+    void cannotAnswerFragmentsShorterThanATrigram() {
+        build(row(1L, "Ana"));
+
+        assertThat(index.search("an")).isNull();
+    }
+
+    @Test
+    void leavesLikeWildcardsToSql() {
+        build(row(1L, "Ana_Lopez"), row(2L, "100% Ana"));
+
+        assertThat(index.search("a_l")).isNull();
+        assertThat(index.search("0% a")).isNull();
+        assertThat(index.search("a\\lo")).isNull();
+    }
+
+    @Test
+    void lowerCasesIndependentlyOfTheDefaultLocale() {
+        Locale previous = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr"));
+        try {
+            build(row(1L, "IVAN"));
+        } finally {
+            Locale.setDefault(previous);
+        }
+
+        assertThat(ids(index.search("iva"))).containsExactly(1L);
+    }
+
+    @Test
+    void findsNamesContainingTheFragment() {
+        build(row(1L, "Ana Lopez"), row(2L, "Diana Ross"), row(3L, "Bob Smith"));
+
+        assertThat(ids(index.search("ana"))).containsExactly(1L, 2L);
+        assertThat(ids(index.search("ross"))).containsExactly(2L);
+    }
+
+    @Test
+    void dropsCandidatesHavingEveryTrigramButNotTheFragment() {
+        build(row(1L, "abcxbcd"), row(2L, "xabcdx"));
+
+        assertThat(ids(index.search("abcd"))).containsExactly(2L);
+    }
+
+    @Test
+    void answersEmptyForAnUnknownTrigram() {
+        build(row(1L, "Ana Lopez"));
+
+        assertThat(ids(index.search("zzz"))).isEmpty();
+    }
+
+    @Test
+    void followsRenames() {
+        build(row(1L, "Ana Lopez"));
+        index.onEmployeeChanged(new EmployeeChangedEvent(ChangeType.UPDATED, 1L, null, snapshot(1L, "Bob Smith")));
+
+        assertThat(ids(index.search("ana"))).isEmpty();
+        assertThat(ids(index.search("smith"))).containsExactly(1L);
+    }
+
+    @Test
+    void forgetsDeletedEmployees() {
+        build(row(1L, "Ana Lopez"), row(2L, "Diana Ross"));
+        index.onEmployeeChanged(new EmployeeChangedEvent(ChangeType.DELETED, 2L, snapshot(2L, "Diana Ross"), null));
+
+        assertThat(ids(index.search("ana"))).containsExactly(1L);
+    }
+
+    private void build(Object[]... rows) {
+        when(repository.findIdAndNameAfter(anyLong(), any())).thenReturn(List.of(rows));
+        index.build();
+    }
+
+    private static Object[] row(long id, String name) {
+        return new Object[]{id, name};
+    }
+
+    private static EmployeeSnapshot snapshot(long id, String name) {
+        return new EmployeeSnapshot(id, name, 30, "IT", 90, 0L, null);
+    }
+
+    private static List<Long> ids(Roaring64NavigableMap bitmap) {
+        return LongStream.of(bitmap.toArray()).boxed().toList();
+    }
+}
@@ -0,0 +1,105 @@
+package com.staff.employee.index;
+
+import com.staff.employee.event.EmployeeChangedEvent;
+import com.staff.employee.event.EmployeeChangedEvent.ChangeType;
+import com.staff.employee.model.EmployeeSnapshot;
+import com.staff.employee.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SkillIndexTest {
+
+    private final EmployeeRepository repository = mock(EmployeeRepository.class);
+    private final SkillIndex index = new SkillIndex(repository, true);
+
+    @BeforeEach
+    void stubRepository() {
+        when(repository.findIdAndNameAfter(anyLong(), any()))
+                .thenReturn(List.of(new Object[]{1L, "Ana"}, new Object[]{2L, "Bob"}, new Object[]{3L, "Cid"}));
+        when(repository.findSkillsByEmployeeIdBetween(eq(1L), eq(3L))).thenReturn(List.of(
+                new Object[]{1L, "Java"}, new Object[]{1L, "SQL"},
+                new Object[]{2L, "Java"}, new Object[]{2L, "Go"},
+                new Object[]{3L, "Rust"}));
+    }
+
+    @Test
+    void cannotAnswerBeforeItIsBuilt() {
+        assertThat(index.anyOf(List.of("Java"))).isNull();
+        assertThat(index.allOf(List.of("Java"))).isNull();
+        assertThat(index.has(1L, "Java")).isNull();
+    }
+
+    @Test
+    void anyOfIsTheUnionOfTheSkills() {
+        index.build();
+
+        assertThat(ids(index.anyOf(List.of("SQL", "Rust")))).containsExactly(1L, 3L);
+        assertThat(ids(index.anyOf(List.of("Java", "Cobol")))).containsExactly(1L, 2L);
+        assertThat(ids(index.anyOf(List.of("Cobol")))).isEmpty();
+    }
+
+    @Test
+    void allOfIsTheIntersectionOfTheSkills() {
+        index.build();
+
+        assertThat(ids(index.allOf(List.of("Java", "Go")))).containsExactly(2L);
+        assertThat(ids(index.allOf(List.of("Java")))).containsExactly(1L, 2L);
+        assertThat(ids(index.allOf(List.of("Java", "Cobol")))).isEmpty();
+    }
+
+    @Test
+    void matchesSkillsExactly() {
+        index.build();
+
+        assertThat(ids(index.anyOf(List.of("java")))).isEmpty();
+        assertThat(index.has(1L, "SQL")).isTrue();
+        assertThat(index.has(2L, "SQL")).isFalse();
+    }
+
+    @Test
+    void replacesSkillsKnownFromTheEventsBeforeImage() {
+        index.build();
+        index.onEmployeeChanged(new EmployeeChangedEvent(ChangeType.UPDATED, 1L,
+                snapshot(1L, List.of("Java", "SQL")), snapshot(1L, List.of("Rust"))));
+
+        assertThat(ids(index.anyOf(List.of("Java")))).containsExactly(2L);
+        assertThat(ids(index.anyOf(List.of("SQL")))).isEmpty();
+        assertThat(ids(index.anyOf(List.of("Rust")))).containsExactly(1L, 3L);
+    }
+
+    @Test
+    void clearsEverySkillWhenTheBeforeImageIsUnknown() {
+        index.build();
+        index.onEmployeeChanged(new EmployeeChangedEvent(ChangeType.UPDATED, 2L, null, snapshot(2L, List.of("SQL"))));
+
+        assertThat(ids(index.anyOf(List.of("Java", "Go")))).containsExactly(1L);
+        assertThat(ids(index.anyOf(List.of("SQL")))).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void keepsSkillsOnScalarOnlyChanges() {
+        index.build();
+        index.onEmployeeChanged(new EmployeeChangedEvent(ChangeType.UPDATED, 1L, snapshot(1L, null), snapshot(1L, null)));
+
+        assertThat(ids(index.allOf(List.of("Java", "SQL")))).containsExactly(1L);
+    }
+
+    private static EmployeeSnapshot snapshot(long id, List<String> skills) {
+        return new EmployeeSnapshot(id, "Ana", 30, "IT", 90, 0L, skills);
+    }
+
+    private static List<Long> ids(Roaring64NavigableMap bitmap) {
+        return LongStream.of(bitmap.toArray()).boxed().toList();
+    }
+}
@@ -0,0 +1,58 @@
+package com.staff.employee.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:actuator-security;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureMockMvc
+// Boot leaves the Prometheus registry out of tests unless asked
+@AutoConfigureObservability
+class ActuatorSecurityTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Test
+    void healthIsPublic() throws Exception {
+        mvc.perform(get("/actuator/health")).andExpect(status().isOk());
+    }
+
+    @Test
+    void metricsRequireAuthentication() throws Exception {
+        mvc.perform(get("/actuator/metrics")).andExpect(status().isUnauthorized());
+        mvc.perform(get("/actuator/prometheus")).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void metricsAreForbiddenToEmployees() throws Exception {
+        mvc.perform(get("/actuator/metrics").header(HttpHeaders.AUTHORIZATION, bearer("employee", "ROLE_EMPLOYEE")))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void metricsAreServedToAdmins() throws Exception {
+        String admin = bearer("admin", "ROLE_ADMIN");
+        mvc.perform(get("/actuator/metrics").header(HttpHeaders.AUTHORIZATION, admin)).andExpect(status().isOk());
+        mvc.perform(get("/actuator/prometheus").header(HttpHeaders.AUTHORIZATION, admin)).andExpect(status().isOk());
+    }
+
+    private String bearer(String username, String role) {
+        return "Bearer " + jwtUtil.generateToken(username, List.of(role));
+    }
+}
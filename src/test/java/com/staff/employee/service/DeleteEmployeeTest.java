@@ -0,0 +1,96 @@
+package com.staff.employee.service;
+
+import com.staff.employee.config.SqlStatementCounter;
+import com.staff.employee.dto.EmployeeInput;
+import com.staff.employee.dto.SkillStats;
+import com.staff.employee.event.EmployeeChangedEvent;
+import com.staff.employee.event.EmployeeChangedEvent.ChangeType;
+import com.staff.employee.index.SkillIndex;
+import com.staff.employee.stats.WorkforceSummary;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A single delete carries the deleted state, so derived state is adjusted in place instead of rebuilt.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:delete-employee;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false"
+})
+@RecordApplicationEvents
+class DeleteEmployeeTest {
+
+    @Autowired
+    private EmployeeService service;
+
+    @Autowired
+    private WorkforceSummary summary;
+
+    @Autowired
+    private SkillIndex skillIndex;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @Test
+    void deleteAdjustsTheSummaryAndIndexWithoutRebuilding() {
+        long deleted = create("Ana", List.of("Kotlin", "Scala"));
+        long kept = create("Bob", List.of("Kotlin", "Elixir"));
+        // Fresh summary, counting both employees
+        assertThat(headcount("Kotlin")).isEqualTo(2);
+        events.clear();
+
+        assertThat(service.deleteEmployee(deleted)).isTrue();
+
+        EmployeeChangedEvent event = events.stream(EmployeeChangedEvent.class).findFirst().orElseThrow();
+        assertThat(event.type()).isEqualTo(ChangeType.DELETED);
+        assertThat(event.before().name()).isEqualTo("Ana");
+        assertThat(event.before().skills()).containsExactlyInAnyOrder("Kotlin", "Scala");
+
+        AtomicInteger statements = new AtomicInteger();
+        try (SqlStatementCounter.Scope ignored = SqlStatementCounter.countInto(statements)) {
+            assertThat(headcount("Kotlin")).isEqualTo(1);
+            assertThat(headcount("Scala")).isZero();
+            assertThat(headcount("Elixir")).isEqualTo(1);
+        }
+        assertThat(statements).as("statements to serve the summary").hasValue(0);
+
+        assertThat(ids(List.of("Kotlin"))).containsExactly(kept);
+        assertThat(ids(List.of("Scala"))).isEmpty();
+        assertThat(ids(List.of("Elixir"))).containsExactly(kept);
+    }
+
+    @Test
+    void deletingAMissingEmployeePublishesNothing() {
+        long id = create("Cid", List.of());
+        service.deleteEmployee(id);
+        events.clear();
+
+        assertThat(service.deleteEmployee(id)).isFalse();
+        assertThat(events.stream(EmployeeChangedEvent.class)).isEmpty();
+    }
+
+    private long headcount(String skill) {
+        return summary.skillStats().stream()
+                .filter(s -> s.skill().equals(skill))
+                .mapToLong(SkillStats::headcount)
+                .sum();
+    }
+
+    private List<Long> ids(List<String> skills) {
+        return LongStream.of(skillIndex.anyOf(skills).toArray()).boxed().toList();
+    }
+
+    private long create(String name, List<String> skills) {
+        return service.createEmployee(EmployeeInput.builder().name(name).age(30).department("IT").skills(skills).build()).getId();
+    }
+}
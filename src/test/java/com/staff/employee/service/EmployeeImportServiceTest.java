@@ -0,0 +1,98 @@
+package com.staff.employee.service;
+
+import com.staff.employee.dto.ImportSummary;
+import com.staff.employee.event.EmployeeChangedEvent;
+import com.staff.employee.event.EmployeeChangedEvent.ChangeType;
+import com.staff.employee.model.EmployeeSnapshot;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:employee-import;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "app.import.max-line-length=80"
+})
+@RecordApplicationEvents
+class EmployeeImportServiceTest {
+
+    @Autowired
+    private EmployeeImportService importService;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @Test
+    void updatesCarryThePreviousStateAsBefore() throws IOException {
+        importService.importCsv(new StringReader("""
+                externalId,name,age,department,skills,attendance
+                hr-1,Ana,30,IT,Java;SQL,90
+                """));
+        events.clear();
+
+        ImportSummary summary = importService.importCsv(new StringReader("""
+                externalId,name,age,department,skills,attendance
+                hr-1,Ana Lopez,31,HR,Go,91
+                """));
+
+        assertThat(summary.updated()).isEqualTo(1);
+        EmployeeChangedEvent event = events.stream(EmployeeChangedEvent.class).findFirst().orElseThrow();
+        assertThat(event.type()).isEqualTo(ChangeType.UPDATED);
+        EmployeeSnapshot before = event.before();
+        assertThat(before).isNotNull();
+        assertThat(before.name()).isEqualTo("Ana");
+        assertThat(before.age()).isEqualTo(30);
+        assertThat(before.department()).isEqualTo("IT");
+        assertThat(before.skills()).containsExactlyInAnyOrder("Java", "SQL");
+        assertThat(event.after().name()).isEqualTo("Ana Lopez");
+        assertThat(event.after().skills()).containsExactly("Go");
+    }
+
+    @Test
+    void insertsCarryNoBefore() throws IOException {
+        importService.importNdjson(new StringReader("{\"externalId\":\"hr-2\",\"name\":\"Bob\",\"age\":40}\n"));
+
+        assertThat(events.stream(EmployeeChangedEvent.class))
+                .singleElement()
+                .satisfies(e -> {
+                    assertThat(e.type()).isEqualTo(ChangeType.CREATED);
+                    assertThat(e.before()).isNull();
+                });
+    }
+
+    @Test
+    void rejectsOverlongLinesAndKeepsGoing() throws IOException {
+        String overlong = "{\"externalId\":\"hr-3\",\"name\":\"" + "x".repeat(100_000) + "\",\"age\":40}";
+        ImportSummary summary = importService.importNdjson(new StringReader(
+                overlong + "\r\n{\"externalId\":\"hr-4\",\"name\":\"Cid\",\"age\":40}\r\n"));
+
+        assertThat(summary.inserted()).isEqualTo(1);
+        assertThat(summary.rejected()).isEqualTo(1);
+        assertThat(summary.errors().get(0).line()).isEqualTo(1);
+        assertThat(summary.errors().get(0).message()).isEqualTo("Line is longer than 80 characters");
+    }
+
+    @Test
+    void splitsLinesOnEveryKindOfBreak() throws IOException {
+        ImportSummary summary = importService.importCsv(new StringReader(
+                "externalId,name,age\rhr-5,Dee,20\nhr-6,Eve,21\r\nhr-7,Fay,22"));
+
+        assertThat(summary.inserted()).isEqualTo(3);
+        assertThat(summary.rejected()).isZero();
+    }
+
+    @Test
+    void rejectsAnOverlongHeader() {
+        assertThatThrownBy(() -> importService.importCsv(new StringReader("externalId," + "name,".repeat(20) + "\n")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("longer than 80");
+    }
+}
@@ -0,0 +1,115 @@
+package com.staff.employee.service;
+
+import com.staff.employee.dto.EmployeeConnection;
+import com.staff.employee.dto.EmployeeEdge;
+import com.staff.employee.dto.EmployeeFilter;
+import com.staff.employee.dto.EmployeeInput;
+import com.staff.employee.model.Employee;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Walks employeesConnection page by page and compares the result with the whole table sorted in memory.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:employees-connection;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EmployeesConnectionTest {
+
+    private static final String[] NAMES = {"Ana", "Bob", "Cid", "Dee", "Eve"};
+    private static final String[] DEPARTMENTS = {"IT", "HR", null};
+
+    @Autowired
+    private EmployeeService service;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @BeforeAll
+    void seed() {
+        // Few distinct names and departments, so most pages end inside a run of equal keys
+        for (int i = 0; i < 60; i++) {
+            service.createEmployee(EmployeeInput.builder()
+                    .name(NAMES[i % NAMES.length])
+                    .age(20 + i % 7)
+                    .department(DEPARTMENTS[i % DEPARTMENTS.length])
+                    .attendance(50 + i)
+                    .build());
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"id", "-id", "name", "-name", "age", "-age", "department", "-department"})
+    void pagesCoverEveryEmployeeInSortOrder(String sort) {
+        List<Employee> expected = new ArrayList<>(service.listEmployees(null, 0, 1000, "id", null, null).content());
+        expected.sort(order(sort));
+
+        assertThat(walk(null, sort)).extracting(Employee::getId).containsExactlyElementsOf(expected.stream().map(Employee::getId).toList());
+    }
+
+    @Test
+    void pagesHonourTheFilter() {
+        EmployeeFilter filter = EmployeeFilter.builder().department("IT").build();
+
+        assertThat(walk(filter, "name")).isNotEmpty().allSatisfy(e -> assertThat(e.getDepartment()).isEqualTo("IT"));
+    }
+
+    @Test
+    void nodesCarryEveryColumn() {
+        Employee first = service.employeesConnection(null, 1, null, "name").edges().get(0).node();
+
+        assertThat(first.getName()).isNotNull();
+        assertThat(first.getAge()).isNotNull();
+        assertThat(first.getAttendance()).isNotNull();
+        assertThat(first.getVersion()).isNotNull();
+    }
+
+    @Test
+    void keysetIndexesExist() {
+        List<String> indexes = jdbc.queryForList(
+                "select index_name from information_schema.indexes where table_name = 'EMPLOYEES'", String.class);
+
+        assertThat(indexes).contains("EMPLOYEES_NAME_ID", "EMPLOYEES_DEPARTMENT_ID");
+    }
+
+    private List<Employee> walk(EmployeeFilter filter, String sort) {
+        List<Employee> seen = new ArrayList<>();
+        String after = null;
+        EmployeeConnection page;
+        do {
+            page = service.employeesConnection(filter, 7, after, sort);
+            page.edges().stream().map(EmployeeEdge::node).forEach(seen::add);
+            after = page.pageInfo().endCursor();
+        } while (page.pageInfo().hasNextPage());
+        return seen;
+    }
+
+    // Mirrors findAfter: key in the requested direction with nulls last, then id in the same direction
+    private static Comparator<Employee> order(String sort) {
+        boolean desc = sort.startsWith("-");
+        Function<Employee, Comparable> key = switch (desc ? sort.substring(1) : sort) {
+            case "name" -> Employee::getName;
+            case "age" -> Employee::getAge;
+            case "department" -> Employee::getDepartment;
+            default -> Employee::getId;
+        };
+        Comparator<Comparable> direction = desc ? Comparator.reverseOrder() : Comparator.naturalOrder();
+        Comparator<Employee> byId = desc ? Comparator.comparing(Employee::getId).reversed() : Comparator.comparing(Employee::getId);
+        return Comparator.comparing(key, Comparator.nullsLast(direction)).thenComparing(byId);
+    }
+}
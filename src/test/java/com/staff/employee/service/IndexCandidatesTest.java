@@ -0,0 +1,116 @@
+package com.staff.employee.service;
+
+import com.staff.employee.dto.EmployeeFilter;
+import com.staff.employee.dto.EmployeeInput;
+import com.staff.employee.dto.TotalsMode;
+import com.staff.employee.model.Employee;
+import com.staff.employee.service.EmployeeService.IndexMatches;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Filters the in-memory indexes resolve to an id list, and the SQL fallback once the matches exceed
+ * {@code app.index.max-candidates}.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:index-candidates;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "app.index.max-candidates=3",
+        "app.cache.pages.enabled=false",
+        "app.query.columnar.enabled=false"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class IndexCandidatesTest {
+
+    @Autowired
+    private EmployeeService service;
+
+    private long anaLopez, dianaRoss;
+
+    @BeforeAll
+    void seed() {
+        anaLopez = create("Ana Lopez", List.of("Kotlin", "SQL"));
+        dianaRoss = create("Diana Ross", List.of("Kotlin", "Go"));
+        create("Hanako Tanaka", List.of("Kotlin"));
+        create("Anastasia Petrova", List.of("Kotlin", "Rust"));
+        create("Bob Smith", List.of("Go"));
+    }
+
+    @Test
+    void resolvesANameMatchToIds() {
+        IndexMatches matches = service.indexMatches(EmployeeFilter.builder().nameContains("ross").build());
+
+        assertThat(matches.ids()).containsExactly(dianaRoss);
+        assertThat(matches.name()).isTrue();
+    }
+
+    @Test
+    void resolvesSkillMatchesToIds() {
+        IndexMatches matches = service.indexMatches(EmployeeFilter.builder().skillsAny(List.of("SQL")).skillsAll(List.of("Kotlin")).build());
+
+        assertThat(matches.ids()).containsExactly(anaLopez);
+        assertThat(matches.skillsAny()).isTrue();
+        assertThat(matches.skillsAll()).isTrue();
+    }
+
+    @Test
+    void intersectsNameAndSkillMatchesBeforeApplyingTheLimit() {
+        // "ana" alone matches four names, one more than the limit
+        IndexMatches matches = service.indexMatches(EmployeeFilter.builder().nameContains("ana").skillsAll(List.of("Go")).build());
+
+        assertThat(matches.ids()).containsExactly(dianaRoss);
+    }
+
+    @Test
+    void fallsBackToSqlAboveMaxCandidates() {
+        EmployeeFilter filter = EmployeeFilter.builder().skillsAny(List.of("Kotlin")).build();
+
+        assertThat(service.indexMatches(filter)).isNull();
+        assertThat(names(filter)).containsExactly("Ana Lopez", "Anastasia Petrova", "Diana Ross", "Hanako Tanaka");
+    }
+
+    @Test
+    void fallsBackToSqlForFragmentsShorterThanATrigram() {
+        EmployeeFilter filter = EmployeeFilter.builder().nameContains("ro").build();
+
+        assertThat(service.indexMatches(filter)).isNull();
+        assertThat(names(filter)).containsExactly("Anastasia Petrova", "Diana Ross");
+    }
+
+    // The index matches literally, LIKE does not; a fragment means the same on both paths only without these
+    @Test
+    void fallsBackToSqlForLikeWildcards() {
+        EmployeeFilter filter = EmployeeFilter.builder().nameContains("a_a").build();
+
+        assertThat(service.indexMatches(filter)).isNull();
+        assertThat(names(filter)).containsExactly("Ana Lopez", "Anastasia Petrova", "Diana Ross", "Hanako Tanaka");
+    }
+
+    @Test
+    void answersCombinedFiltersOnBothPaths() {
+        EmployeeFilter filter = EmployeeFilter.builder().nameContains("ana").skillsAll(List.of("Kotlin")).build();
+
+        assertThat(service.indexMatches(filter)).isNull();
+        assertThat(names(filter)).containsExactly("Ana Lopez", "Anastasia Petrova", "Diana Ross", "Hanako Tanaka");
+        EmployeeFilter narrower = EmployeeFilter.builder().nameContains("ana").skillsAny(List.of("Rust", "SQL")).build();
+        assertThat(service.indexMatches(narrower)).isNotNull();
+        assertThat(names(narrower)).containsExactly("Ana Lopez", "Anastasia Petrova");
+    }
+
+    private List<String> names(EmployeeFilter filter) {
+        return service.listEmployees(filter, 0, 20, "name", TotalsMode.NONE, null).content().stream()
+                .map(Employee::getName)
+                .toList();
+    }
+
+    private long create(String name, List<String> skills) {
+        return service.createEmployee(EmployeeInput.builder().name(name).age(30).department("IT").skills(skills).attendance(90).build()).getId();
+    }
+}
@@ -0,0 +1,94 @@
+package com.staff.employee.service;
+
+import com.staff.employee.config.SqlStatementCounter;
+import com.staff.employee.dto.EmployeeInput;
+import com.staff.employee.dto.EmployeePatch;
+import com.staff.employee.seed.EmployeeGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * SQL statements issued by each single-employee mutation, and by reading the employee back, so a regression in
+ * round trips fails the build.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:mutation-statement-count;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false"
+})
+class MutationStatementCountTest {
+
+    private final EmployeeGenerator generator = new EmployeeGenerator(5);
+
+    @Autowired
+    private EmployeeService service;
+
+    private long id;
+
+    @BeforeEach
+    void createEmployee() {
+        id = service.createEmployee(generator.nextInput()).getId();
+    }
+
+    @Test
+    void addEmployee() {
+        // insert the employee, then one batched insert of its skills
+        assertThat(statements(() -> service.createEmployee(generator.nextInput()))).isEqualTo(2);
+    }
+
+    @Test
+    void updateEmployee() {
+        EmployeeInput input = generator.nextInput();
+        // select, lazy skills select, update, delete and re-insert of the skills
+        assertThat(statements(() -> service.updateEmployee(id, input))).isEqualTo(5);
+    }
+
+    @Test
+    void patchEmployee() {
+        // projected select, update
+        assertThat(statements(() -> service.patchEmployee(id, EmployeePatch.builder().age(41).build()))).isEqualTo(2);
+    }
+
+    @Test
+    void patchEmployeeSkills() {
+        // projected select, skills select, update, skills delete, one multi-row skills insert
+        assertThat(statements(() -> service.patchEmployee(id, EmployeePatch.builder().skills(List.of("Java", "SQL")).build())))
+                .isEqualTo(5);
+    }
+
+    @Test
+    void deleteEmployee() {
+        // projected select, skills select, skills delete, row delete
+        assertThat(statements(() -> service.deleteEmployee(id))).isEqualTo(4);
+    }
+
+    @Test
+    void deleteMissingEmployee() {
+        service.deleteEmployee(id);
+        // the projected select finds nothing, so nothing is deleted
+        assertThat(statements(() -> service.deleteEmployee(id))).isEqualTo(1);
+    }
+
+    @Test
+    void getEmployeeById() {
+        // projected select and skills select, then both served from the cache until the next change
+        assertThat(statements(() -> service.getById(id))).isEqualTo(2);
+        assertThat(statements(() -> service.getById(id))).isZero();
+        service.patchEmployee(id, EmployeePatch.builder().skills(List.of("Java")).build());
+        assertThat(statements(() -> assertThat(service.getById(id).getSkills()).containsExactly("Java"))).isEqualTo(2);
+    }
+
+    private static int statements(Runnable mutation) {
+        AtomicInteger counter = new AtomicInteger();
+        try (SqlStatementCounter.Scope ignored = SqlStatementCounter.countInto(counter)) {
+            mutation.run();
+        }
+        return counter.get();
+    }
+}
@@ -0,0 +1,68 @@
+package com.staff.employee.service;
+
+import com.staff.employee.dto.EmployeeInput;
+import com.staff.employee.event.EmployeeChangedEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The schema allows null elements in skills; they are dropped rather than failing the mutation after the write.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:null-skill;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false"
+})
+@RecordApplicationEvents
+class NullSkillTest {
+
+    @Autowired
+    private EmployeeService service;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @Test
+    void createEmployee() {
+        long id = service.createEmployee(input(Arrays.asList("java", null))).getId();
+
+        assertThat(lastEvent().after().skills()).containsExactly("java");
+        assertThat(service.getById(id).getSkills()).containsExactly("java");
+    }
+
+    @Test
+    void createEmployees() {
+        assertThat(service.createEmployees(List.of(input(Arrays.asList(null, "go")))).inserted()).isEqualTo(1);
+
+        assertThat(lastEvent().after().skills()).containsExactly("go");
+    }
+
+    @Test
+    void updateEmployee() {
+        long id = service.createEmployee(input(List.of("java"))).getId();
+
+        service.updateEmployee(id, input(Arrays.asList("rust", null)));
+
+        assertThat(lastEvent().before().skills()).containsExactly("java");
+        assertThat(lastEvent().after().skills()).containsExactly("rust");
+        assertThat(service.getById(id).getSkills()).containsExactly("rust");
+    }
+
+    private EmployeeChangedEvent lastEvent() {
+        List<EmployeeChangedEvent> published = events.stream(EmployeeChangedEvent.class).toList();
+        return published.get(published.size() - 1);
+    }
+
+    // Mutable, as GraphQL argument binding produces it
+    private static EmployeeInput input(List<String> skills) {
+        return EmployeeInput.builder().name("Ana").age(30).department("IT").skills(new ArrayList<>(skills)).build();
+    }
+}
@@ -0,0 +1,83 @@
+package com.staff.employee.stats;
+
+import com.staff.employee.dto.DepartmentStats;
+import com.staff.employee.dto.SkillStats;
+import com.staff.employee.event.EmployeeChangedEvent;
+import com.staff.employee.event.EmployeeChangedEvent.ChangeType;
+import com.staff.employee.model.EmployeeSnapshot;
+import com.staff.employee.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WorkforceSummaryTest {
+
+    private static final EmployeeSnapshot ANA = new EmployeeSnapshot(1L, "Ana", 30, "IT", 90, 0L, List.of("Java"));
+    private static final EmployeeSnapshot BOB = new EmployeeSnapshot(2L, "Bob", 40, "IT", 80, 0L, List.of("Go"));
+
+    private final EmployeeRepository repository = mock(EmployeeRepository.class);
+    private final WorkforceSummary summary = new WorkforceSummary(repository, true);
+
+    @BeforeEach
+    void stubRepository() {
+        when(repository.departmentTotals(isNull())).thenReturn(List.of(DepartmentTotals.empty("IT").plus(ANA, 1)));
+        when(repository.skillStats(isNull())).thenReturn(List.of(SkillStats.builder().skill("Java").headcount(1).build()));
+        when(repository.countByValue(isNull(), eq("age"))).thenReturn(Map.of(30, 1L));
+        when(repository.countByValue(isNull(), eq("attendance"))).thenReturn(Map.of(90, 1L));
+    }
+
+    @Test
+    void appliesChangesToTheBuiltTotals() {
+        summary.build();
+        summary.onEmployeeChanged(new EmployeeChangedEvent(ChangeType.CREATED, 2L, null, BOB));
+
+        assertThat(summary.departmentStats()).extracting(DepartmentStats::headcount).containsExactly(2L);
+        assertThat(summary.ageCounts()).containsOnly(Map.entry(30, 1L), Map.entry(40, 1L));
+    }
+
+    // Bob commits while the rebuild queries run; the totals already include him, so the event must not add him again
+    @Test
+    void doesNotInstallARebuildThatOverlappedAChange() {
+        List<DepartmentTotals> withBob = List.of(DepartmentTotals.empty("IT").plus(ANA, 1).plus(BOB, 1));
+        when(repository.departmentTotals(isNull()))
+                .thenAnswer(invocation -> {
+                    summary.onEmployeeChanged(new EmployeeChangedEvent(ChangeType.CREATED, 2L, null, BOB));
+                    return withBob;
+                })
+                .thenReturn(withBob);
+
+        summary.build();
+
+        assertThat(summary.departmentStats()).extracting(DepartmentStats::headcount).containsExactly(2L);
+        verify(repository, times(2)).departmentTotals(isNull());
+    }
+
+    @Test
+    void staysUnavailableWhileRebuildsKeepOverlappingChanges() {
+        when(repository.departmentTotals(isNull())).thenAnswer(invocation -> {
+            summary.onEmployeeChanged(new EmployeeChangedEvent(ChangeType.CREATED, 2L, null, BOB));
+            return List.of();
+        });
+
+        summary.build();
+
+        assertThat(summary.departmentStats()).isNull();
+        assertThat(summary.skillStats()).isNull();
+    }
+
+    @Test
+    void cannotAnswerBeforeItIsBuilt() {
+        assertThat(summary.departmentStats()).isNull();
+        assertThat(summary.attendanceCounts()).isNull();
+    }
+}